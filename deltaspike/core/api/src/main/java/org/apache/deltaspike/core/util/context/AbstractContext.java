@@ -19,6 +19,8 @@
 
 package org.apache.deltaspike.core.util.context;
 
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
+
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.Contextual;
@@ -200,6 +202,7 @@ public abstract class AbstractContext implements Context
     public static void destroyBean(Contextual bean, ContextualInstanceInfo<?> contextualInstanceInfo)
     {
         bean.destroy(contextualInstanceInfo.getContextualInstance(), contextualInstanceInfo.getCreationalContext());
+        RuntimeStatistics.recordContextualInstanceDestroyed(bean);
     }
 
     /**
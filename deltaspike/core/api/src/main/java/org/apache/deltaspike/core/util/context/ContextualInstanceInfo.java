@@ -31,9 +31,10 @@ public class ContextualInstanceInfo<T> implements Serializable
     private static final long serialVersionUID = 6384932199958645324L;
 
     /**
-     * The actual Contextual Instance in the context
+     * The actual Contextual Instance in the context.
+     * It is volatile to allow a lock-free read of already created instances.
      */
-    private T contextualInstance;
+    private volatile T contextualInstance;
 
     /**
      * We need to store the CreationalContext as we need it for
@@ -19,6 +19,7 @@
 
 package org.apache.deltaspike.core.util.context;
 
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
 
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
@@ -96,27 +97,41 @@ public class ContextualStorage implements Serializable
         Object beanKey = getBeanKey(bean);
         if (isConcurrent())
         {
-            // locked approach
-            ContextualInstanceInfo<T> instanceInfo = new ContextualInstanceInfo<T>();
-
             ConcurrentMap<Object, ContextualInstanceInfo<?>> concurrentMap
                 = (ConcurrentHashMap<Object, ContextualInstanceInfo<?>>) contextualInstances;
 
-            ContextualInstanceInfo<T> oldInstanceInfo
-                = (ContextualInstanceInfo<T>) concurrentMap.putIfAbsent(beanKey, instanceInfo);
-
-            if (oldInstanceInfo != null)
+            // fast path - the instance is already created, a volatile read is sufficient
+            ContextualInstanceInfo<T> instanceInfo = (ContextualInstanceInfo<T>) concurrentMap.get(beanKey);
+            if (instanceInfo != null)
+            {
+                T instance = instanceInfo.getContextualInstance();
+                if (instance != null)
+                {
+                    return instance;
+                }
+            }
+            else
             {
-                instanceInfo = oldInstanceInfo;
+                ContextualInstanceInfo<T> newInstanceInfo = new ContextualInstanceInfo<T>();
+
+                instanceInfo = (ContextualInstanceInfo<T>) concurrentMap.putIfAbsent(beanKey, newInstanceInfo);
+                if (instanceInfo == null)
+                {
+                    instanceInfo = newInstanceInfo;
+                }
             }
+
+            // locked approach - only used for creating the instance
             synchronized (instanceInfo)
             {
                 T instance = instanceInfo.getContextualInstance();
                 if (instance == null)
                 {
                     instance = bean.create(creationalContext);
-                    instanceInfo.setContextualInstance(instance);
+                    RuntimeStatistics.recordContextualInstanceCreated(bean);
+                    // the CreationalContext has to be visible before the instance gets published
                     instanceInfo.setCreationalContext(creationalContext);
+                    instanceInfo.setContextualInstance(instance);
                 }
 
                 return instance;
@@ -129,6 +144,7 @@ public class ContextualStorage implements Serializable
             ContextualInstanceInfo<T> instanceInfo = new ContextualInstanceInfo<T>();
             instanceInfo.setCreationalContext(creationalContext);
             instanceInfo.setContextualInstance(bean.create(creationalContext));
+            RuntimeStatistics.recordContextualInstanceCreated(bean);
 
             contextualInstances.put(beanKey, instanceInfo);
 
@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.List;
 import javax.interceptor.InterceptorBinding;
 import org.apache.deltaspike.core.util.ClassUtils;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
 
 public abstract class DeltaSpikeProxyFactory
 {
@@ -82,6 +83,8 @@ public abstract class DeltaSpikeProxyFactory
                             : delegateMethods.toArray(new Method[delegateMethods.size()]),
                     interceptMethods == null ? new Method[0]
                             : interceptMethods.toArray(new Method[interceptMethods.size()]));
+
+            RuntimeStatistics.recordProxyClassGenerated();
         }
 
         return proxyClass;
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.util.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the invocations of a single target, their duration and result size.
+ * All values are updated without locking, so it's cheap enough to stay enabled in production.
+ *
+ * Durations are also counted in a histogram with four buckets per power of two,
+ * so percentiles are reported with an error below 25%.
+ */
+public class InvocationStatistic
+{
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLong invocationCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong totalDurationNanos = new AtomicLong();
+    private final AtomicLong maxDurationNanos = new AtomicLong();
+    private final AtomicLongArray durationHistogram = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    private final AtomicLong resultSizeCount = new AtomicLong();
+    private final AtomicLong totalResultSize = new AtomicLong();
+    private final AtomicLong maxResultSize = new AtomicLong();
+
+    /**
+     * @param durationNanos duration of the invocation in nanoseconds
+     * @param failed whether the invocation failed
+     */
+    public void record(long durationNanos, boolean failed)
+    {
+        record(durationNanos, failed, -1);
+    }
+
+    /**
+     * @param durationNanos duration of the invocation in nanoseconds
+     * @param failed whether the invocation failed
+     * @param resultSize number of returned (or affected) entries, or a negative value if unknown
+     */
+    public void record(long durationNanos, boolean failed, long resultSize)
+    {
+        invocationCount.incrementAndGet();
+        if (failed)
+        {
+            failureCount.incrementAndGet();
+        }
+        totalDurationNanos.addAndGet(durationNanos);
+        updateMax(maxDurationNanos, durationNanos);
+        durationHistogram.incrementAndGet(bucketOf(durationNanos));
+
+        if (resultSize >= 0)
+        {
+            resultSizeCount.incrementAndGet();
+            totalResultSize.addAndGet(resultSize);
+            updateMax(maxResultSize, resultSize);
+        }
+    }
+
+    /**
+     * Sets all values back to 0. Invocations which are recorded concurrently might get lost.
+     */
+    public void reset()
+    {
+        invocationCount.set(0);
+        failureCount.set(0);
+        totalDurationNanos.set(0);
+        maxDurationNanos.set(0);
+        for (int i = 0; i < durationHistogram.length(); i++)
+        {
+            durationHistogram.set(i, 0);
+        }
+        resultSizeCount.set(0);
+        totalResultSize.set(0);
+        maxResultSize.set(0);
+    }
+
+    public long getInvocationCount()
+    {
+        return invocationCount.get();
+    }
+
+    public long getFailureCount()
+    {
+        return failureCount.get();
+    }
+
+    public long getTotalDurationNanos()
+    {
+        return totalDurationNanos.get();
+    }
+
+    public long getMaxDurationNanos()
+    {
+        return maxDurationNanos.get();
+    }
+
+    public long getAverageDurationNanos()
+    {
+        long count = getInvocationCount();
+        if (count == 0)
+        {
+            return 0;
+        }
+        return getTotalDurationNanos() / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. 99 for the duration 99% of the invocations didn't exceed
+     * @return the approximated duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getDurationPercentileNanos(double percentile)
+    {
+        long[] counts = new long[durationHistogram.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = durationHistogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0)
+        {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= threshold && counts[i] > 0)
+            {
+                return Math.min(upperBoundOf(i), getMaxDurationNanos());
+            }
+        }
+        return getMaxDurationNanos();
+    }
+
+    public long getMaxResultSize()
+    {
+        return maxResultSize.get();
+    }
+
+    public long getAverageResultSize()
+    {
+        long count = resultSizeCount.get();
+        if (count == 0)
+        {
+            return 0;
+        }
+        return totalResultSize.get() / count;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "invocations=" + getInvocationCount() +
+                ", failures=" + getFailureCount() +
+                ", avgMicros=" + getAverageDurationNanos() / 1000 +
+                ", p50Micros=" + getDurationPercentileNanos(50) / 1000 +
+                ", p95Micros=" + getDurationPercentileNanos(95) / 1000 +
+                ", p99Micros=" + getDurationPercentileNanos(99) / 1000 +
+                ", maxMicros=" + getMaxDurationNanos() / 1000 +
+                ", avgResultSize=" + getAverageResultSize() +
+                ", maxResultSize=" + getMaxResultSize();
+    }
+
+    private static void updateMax(AtomicLong max, long value)
+    {
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value))
+        {
+            currentMax = max.get();
+        }
+    }
+
+    private static int bucketOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) Math.max(value, 0);
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        int highestBit = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int shift = highestBit - SUB_BUCKET_BITS;
+        long lowerBound = (1L << highestBit) + ((long) (bucket % SUB_BUCKETS) << shift);
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.util.statistics;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.Typed;
+import javax.enterprise.inject.spi.Bean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects runtime statistics of DeltaSpike (scopes, proxies, repositories and exception-control).
+ * The statistics are exposed via the DeltaSpike statistics MBean.
+ *
+ * All counters are updated without locking, so the collection can stay enabled in production.
+ */
+@Typed()
+public abstract class RuntimeStatistics
+{
+    private static final String UNKNOWN_SCOPE = "unknown";
+
+    private static final ConcurrentMap<String, AtomicLong> CREATED_CONTEXTUAL_INSTANCES =
+        new ConcurrentHashMap<String, AtomicLong>();
+    private static final ConcurrentMap<String, AtomicLong> DESTROYED_CONTEXTUAL_INSTANCES =
+        new ConcurrentHashMap<String, AtomicLong>();
+    private static final ConcurrentMap<String, AtomicLong> CREATED_CONTEXTUAL_STORAGES =
+        new ConcurrentHashMap<String, AtomicLong>();
+    private static final ConcurrentMap<String, AtomicLong> DESTROYED_CONTEXTUAL_STORAGES =
+        new ConcurrentHashMap<String, AtomicLong>();
+    private static final ConcurrentMap<String, InvocationStatistic> REPOSITORY_METHOD_INVOCATIONS =
+        new ConcurrentHashMap<String, InvocationStatistic>();
+
+    private static final AtomicLong CLOSED_WINDOW_CONTEXTS = new AtomicLong();
+    private static final AtomicLong GENERATED_PROXY_CLASSES = new AtomicLong();
+    private static final AtomicLong HANDLED_EXCEPTION_EVENTS = new AtomicLong();
+
+    private RuntimeStatistics()
+    {
+        // prevent instantiation
+    }
+
+    public static void recordContextualInstanceCreated(Contextual<?> contextual)
+    {
+        increment(CREATED_CONTEXTUAL_INSTANCES, getScopeName(contextual), 1);
+    }
+
+    public static void recordContextualInstanceDestroyed(Contextual<?> contextual)
+    {
+        increment(DESTROYED_CONTEXTUAL_INSTANCES, getScopeName(contextual), 1);
+    }
+
+    /**
+     * @param storageName name of the storage, e.g. the name of the holder which manages the storages
+     */
+    public static void recordContextualStorageCreated(String storageName)
+    {
+        increment(CREATED_CONTEXTUAL_STORAGES, storageName, 1);
+    }
+
+    /**
+     * @param storageName name of the storage, e.g. the name of the holder which manages the storages
+     * @param count number of storages which got removed from the holder
+     */
+    public static void recordContextualStoragesDestroyed(String storageName, int count)
+    {
+        if (count > 0)
+        {
+            increment(DESTROYED_CONTEXTUAL_STORAGES, storageName, count);
+        }
+    }
+
+    public static void recordWindowContextClosed()
+    {
+        CLOSED_WINDOW_CONTEXTS.incrementAndGet();
+    }
+
+    public static void recordProxyClassGenerated()
+    {
+        GENERATED_PROXY_CLASSES.incrementAndGet();
+    }
+
+    public static void recordExceptionEventHandled()
+    {
+        HANDLED_EXCEPTION_EVENTS.incrementAndGet();
+    }
+
+    /**
+     * @param methodName name of the repository method, e.g. <code>MyRepository#findByName</code>
+     * @param durationNanos duration of the invocation in nanoseconds
+     * @param failed whether the invocation failed
+     */
+    public static void recordRepositoryMethodInvocation(String methodName, long durationNanos, boolean failed)
+    {
+        recordRepositoryMethodInvocation(methodName, durationNanos, failed, -1);
+    }
+
+    /**
+     * @param methodName name of the repository method, e.g. <code>MyRepository#findByName</code>
+     * @param durationNanos duration of the invocation in nanoseconds
+     * @param failed whether the invocation failed
+     * @param resultSize number of returned (or affected) entities, or a negative value if unknown
+     */
+    public static void recordRepositoryMethodInvocation(String methodName, long durationNanos, boolean failed,
+                                                        long resultSize)
+    {
+        getRepositoryMethodStatistic(methodName).record(durationNanos, failed, resultSize);
+    }
+
+    /**
+     * Callers which invoke the same method repeatedly can keep the returned instance,
+     * it stays registered also after a {@link #reset()}.
+     *
+     * @param methodName name of the repository method, e.g. <code>MyRepository#findByName(String)</code>
+     * @return the statistic of the given repository method
+     */
+    public static InvocationStatistic getRepositoryMethodStatistic(String methodName)
+    {
+        InvocationStatistic statistic = REPOSITORY_METHOD_INVOCATIONS.get(methodName);
+        if (statistic == null)
+        {
+            InvocationStatistic newStatistic = new InvocationStatistic();
+            statistic = REPOSITORY_METHOD_INVOCATIONS.putIfAbsent(methodName, newStatistic);
+            if (statistic == null)
+            {
+                statistic = newStatistic;
+            }
+        }
+        return statistic;
+    }
+
+    /**
+     * @return the number of contextual instances which are currently alive per scope
+     */
+    public static Map<String, Long> getActiveContextualInstances()
+    {
+        return difference(CREATED_CONTEXTUAL_INSTANCES, DESTROYED_CONTEXTUAL_INSTANCES);
+    }
+
+    /**
+     * @return the number of {@link org.apache.deltaspike.core.util.context.ContextualStorage}s which are currently
+     *         alive per storage, e.g. the number of open windows for the storage of the window-context
+     */
+    public static Map<String, Long> getActiveContextualStorages()
+    {
+        return difference(CREATED_CONTEXTUAL_STORAGES, DESTROYED_CONTEXTUAL_STORAGES);
+    }
+
+    /**
+     * @return the number of created contextual instances per scope
+     */
+    public static Map<String, Long> getCreatedContextualInstances()
+    {
+        return toMap(CREATED_CONTEXTUAL_INSTANCES);
+    }
+
+    /**
+     * @return the number of created {@link org.apache.deltaspike.core.util.context.ContextualStorage}s per storage
+     */
+    public static Map<String, Long> getCreatedContextualStorages()
+    {
+        return toMap(CREATED_CONTEXTUAL_STORAGES);
+    }
+
+    public static long getClosedWindowContextCount()
+    {
+        return CLOSED_WINDOW_CONTEXTS.get();
+    }
+
+    public static long getGeneratedProxyClassCount()
+    {
+        return GENERATED_PROXY_CLASSES.get();
+    }
+
+    public static long getHandledExceptionEventCount()
+    {
+        return HANDLED_EXCEPTION_EVENTS.get();
+    }
+
+    /**
+     * @return a snapshot of the statistics per repository method
+     */
+    public static Map<String, InvocationStatistic> getRepositoryMethodInvocations()
+    {
+        return new TreeMap<String, InvocationStatistic>(REPOSITORY_METHOD_INVOCATIONS);
+    }
+
+    /**
+     * Resets the statistics which aren't needed for calculating the currently active instances and storages.
+     */
+    public static void reset()
+    {
+        for (InvocationStatistic statistic : REPOSITORY_METHOD_INVOCATIONS.values())
+        {
+            statistic.reset();
+        }
+        CLOSED_WINDOW_CONTEXTS.set(0);
+        HANDLED_EXCEPTION_EVENTS.set(0);
+    }
+
+    private static String getScopeName(Contextual<?> contextual)
+    {
+        if (contextual instanceof Bean)
+        {
+            return ((Bean<?>) contextual).getScope().getSimpleName();
+        }
+        return UNKNOWN_SCOPE;
+    }
+
+    private static void increment(ConcurrentMap<String, AtomicLong> counters, String key, int delta)
+    {
+        AtomicLong counter = counters.get(key);
+        if (counter == null)
+        {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(key, newCounter);
+            if (counter == null)
+            {
+                counter = newCounter;
+            }
+        }
+        counter.addAndGet(delta);
+    }
+
+    private static Map<String, Long> difference(Map<String, AtomicLong> created, Map<String, AtomicLong> destroyed)
+    {
+        Map<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : created.entrySet())
+        {
+            AtomicLong destroyedCount = destroyed.get(entry.getKey());
+            result.put(entry.getKey(), entry.getValue().get() - (destroyedCount == null ? 0 : destroyedCount.get()));
+        }
+        return result;
+    }
+
+    private static Map<String, Long> toMap(Map<String, AtomicLong> counters)
+    {
+        Map<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet())
+        {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+}
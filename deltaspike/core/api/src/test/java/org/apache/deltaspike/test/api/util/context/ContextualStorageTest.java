@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.api.util.context;
+
+import org.apache.deltaspike.core.util.context.ContextualStorage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ContextualStorageTest
+{
+    private static final int THREAD_COUNT = 8;
+    private static final int READS_PER_THREAD = 10000;
+
+    @Test
+    public void concurrentCreationCreatesInstanceOnce() throws Exception
+    {
+        final ContextualStorage storage = new ContextualStorage(null, true, false);
+        final CountingContextual contextual = new CountingContextual();
+        final CountDownLatch startSignal = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try
+        {
+            List<Future<Object>> results = new ArrayList<Future<Object>>();
+            for (int i = 0; i < THREAD_COUNT; i++)
+            {
+                results.add(executorService.submit(new Callable<Object>()
+                {
+                    @Override
+                    public Object call() throws Exception
+                    {
+                        startSignal.await();
+
+                        Object instance = null;
+                        for (int j = 0; j < READS_PER_THREAD; j++)
+                        {
+                            Object current = storage.createContextualInstance(contextual, new NoopCreationalContext());
+                            if (instance != null && instance != current)
+                            {
+                                throw new IllegalStateException("different instances returned");
+                            }
+                            instance = current;
+                        }
+                        return instance;
+                    }
+                }));
+            }
+
+            startSignal.countDown();
+
+            Object instance = results.get(0).get();
+            for (Future<Object> result : results)
+            {
+                Assert.assertSame(instance, result.get());
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+
+        Assert.assertEquals(1, contextual.createdInstances.get());
+        Assert.assertEquals(1, storage.getStorage().size());
+        Assert.assertNotNull(storage.getStorage().get(contextual).getCreationalContext());
+    }
+
+    private static class CountingContextual implements Contextual<Object>
+    {
+        private final AtomicInteger createdInstances = new AtomicInteger();
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext)
+        {
+            createdInstances.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext)
+        {
+            // nothing to do
+        }
+    }
+
+    private static class NoopCreationalContext implements CreationalContext<Object>
+    {
+        @Override
+        public void push(Object incompleteInstance)
+        {
+            // nothing to do
+        }
+
+        @Override
+        public void release()
+        {
+            // nothing to do
+        }
+    }
+}
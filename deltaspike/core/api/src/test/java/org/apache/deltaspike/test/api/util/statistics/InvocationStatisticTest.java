@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.api.util.statistics;
+
+import org.apache.deltaspike.core.util.statistics.InvocationStatistic;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InvocationStatisticTest
+{
+    @Test
+    public void recordInvocations()
+    {
+        InvocationStatistic statistic = new InvocationStatistic();
+        statistic.record(100, false);
+        statistic.record(300, true);
+        statistic.record(200, false);
+
+        Assert.assertEquals(3, statistic.getInvocationCount());
+        Assert.assertEquals(1, statistic.getFailureCount());
+        Assert.assertEquals(600, statistic.getTotalDurationNanos());
+        Assert.assertEquals(300, statistic.getMaxDurationNanos());
+        Assert.assertEquals(200, statistic.getAverageDurationNanos());
+    }
+
+    @Test
+    public void approximatePercentiles()
+    {
+        InvocationStatistic statistic = new InvocationStatistic();
+        for (int i = 1; i <= 100; i++)
+        {
+            statistic.record(i * 1000L, false, i);
+        }
+
+        long median = statistic.getDurationPercentileNanos(50);
+        long p99 = statistic.getDurationPercentileNanos(99);
+        Assert.assertTrue(median >= 50000 && median < 50000 * 1.25);
+        Assert.assertTrue(p99 >= 99000 && p99 <= 100000);
+        Assert.assertEquals(100000, statistic.getDurationPercentileNanos(100));
+        Assert.assertEquals(50, statistic.getAverageResultSize());
+        Assert.assertEquals(100, statistic.getMaxResultSize());
+    }
+
+    @Test
+    public void recordRepositoryMethodInvocations()
+    {
+        RuntimeStatistics.reset();
+
+        RuntimeStatistics.recordRepositoryMethodInvocation("TestRepository#findByName", 10, false);
+        RuntimeStatistics.recordRepositoryMethodInvocation("TestRepository#findByName", 20, false);
+
+        InvocationStatistic statistic =
+            RuntimeStatistics.getRepositoryMethodInvocations().get("TestRepository#findByName");
+        Assert.assertNotNull(statistic);
+        Assert.assertEquals(2, statistic.getInvocationCount());
+        Assert.assertEquals(20, statistic.getMaxDurationNanos());
+    }
+}
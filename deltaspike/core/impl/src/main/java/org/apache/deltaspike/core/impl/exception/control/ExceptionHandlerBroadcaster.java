@@ -37,6 +37,7 @@ import org.apache.deltaspike.core.api.exception.control.HandlerMethod;
 import org.apache.deltaspike.core.api.exception.control.event.ExceptionStackEvent;
 import org.apache.deltaspike.core.api.exception.control.event.ExceptionToCatchEvent;
 import org.apache.deltaspike.core.api.provider.BeanProvider;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
 
 /**
  * Observer of {@link org.apache.deltaspike.core.api.exception.control.event.ExceptionToCatchEvent} events and handler
@@ -63,6 +64,8 @@ public class ExceptionHandlerBroadcaster
         LOG.entering(
                 ExceptionHandlerBroadcaster.class.getName(), "executeHandlers", exceptionEventEvent.getException());
 
+        RuntimeStatistics.recordExceptionEventHandled();
+
         CreationalContext<Object> creationalContext = null;
 
         Throwable throwException = null;
@@ -35,6 +35,27 @@ public class AttributeAccessor
     {
         this.setter = set;
         this.getter = get;
+
+        // done once during the registration to avoid the access check per invocation
+        makeAccessible(get);
+        makeAccessible(set);
+    }
+
+    static void makeAccessible(final Method method)
+    {
+        if (method == null)
+        {
+            return;
+        }
+
+        try
+        {
+            method.setAccessible(true);
+        }
+        catch (SecurityException e)
+        {
+            // ignored - the method is public anyway, we just lose the shortcut
+        }
     }
 
     public Object get(final Object instance) throws InvocationTargetException, IllegalAccessException
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.jmx;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.impl.scope.window.WindowBeanHolder;
+import org.apache.deltaspike.core.util.statistics.InvocationStatistic;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes the {@link RuntimeStatistics} collected by DeltaSpike.
+ * It gets registered by the {@link MBeanExtension} like any other &#064;{@link MBean}.
+ *
+ * The annotated fields just describe the attributes, the values are provided by the getters.
+ */
+@ApplicationScoped
+@MBean(name = "DeltaSpikeStatistics", description = "runtime statistics of DeltaSpike")
+public class DeltaSpikeStatisticsMBean
+{
+    @JmxManaged(description = "currently active contextual instances per scope")
+    private Map<String, Long> activeContextualInstances;
+
+    @JmxManaged(description = "created contextual instances per scope")
+    private Map<String, Long> createdContextualInstances;
+
+    @JmxManaged(description = "created contextual storages per storage holder")
+    private Map<String, Long> createdContextualStorages;
+
+    @JmxManaged(description = "currently active contextual storages per storage holder")
+    private Map<String, Long> activeContextualStorages;
+
+    @JmxManaged(description = "currently active window contexts")
+    private long activeWindowContexts;
+
+    @JmxManaged(description = "closed window contexts")
+    private long closedWindowContexts;
+
+    @JmxManaged(description = "generated proxy classes (e.g. for partial beans)")
+    private long generatedProxyClasses;
+
+    @JmxManaged(description = "exception events handled by the exception control")
+    private long handledExceptionEvents;
+
+    @JmxManaged(description = "invocations and latencies per repository method")
+    private Map<String, String> repositoryMethodInvocations;
+
+    public Map<String, Long> getActiveContextualInstances()
+    {
+        return RuntimeStatistics.getActiveContextualInstances();
+    }
+
+    public Map<String, Long> getCreatedContextualInstances()
+    {
+        return RuntimeStatistics.getCreatedContextualInstances();
+    }
+
+    public Map<String, Long> getCreatedContextualStorages()
+    {
+        return RuntimeStatistics.getCreatedContextualStorages();
+    }
+
+    public Map<String, Long> getActiveContextualStorages()
+    {
+        return RuntimeStatistics.getActiveContextualStorages();
+    }
+
+    public long getActiveWindowContexts()
+    {
+        Long result = getActiveContextualStorages().get(WindowBeanHolder.class.getSimpleName());
+        return result == null ? 0 : result;
+    }
+
+    public long getClosedWindowContexts()
+    {
+        return RuntimeStatistics.getClosedWindowContextCount();
+    }
+
+    public long getGeneratedProxyClasses()
+    {
+        return RuntimeStatistics.getGeneratedProxyClassCount();
+    }
+
+    public long getHandledExceptionEvents()
+    {
+        return RuntimeStatistics.getHandledExceptionEventCount();
+    }
+
+    public Map<String, String> getRepositoryMethodInvocations()
+    {
+        Map<String, InvocationStatistic> statistics = RuntimeStatistics.getRepositoryMethodInvocations();
+
+        Map<String, String> result = new TreeMap<String, String>();
+        for (Map.Entry<String, InvocationStatistic> entry : statistics.entrySet())
+        {
+            // statistics stay registered after a reset
+            if (entry.getValue().getInvocationCount() > 0)
+            {
+                result.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        return result;
+    }
+
+    @JmxManaged(description = "resets the counters which aren't needed for the active instances")
+    public void reset()
+    {
+        RuntimeStatistics.reset();
+    }
+}
@@ -74,7 +74,7 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
 
     private final Annotation[] qualifiers;
 
-    private Object instance = null;
+    private volatile Object instance = null;
 
     /**
      * The constructor is the builder for the MBean. All the MBean parsing logic is done here.
@@ -130,6 +130,7 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
                 continue;
             }
 
+            AttributeAccessor.makeAccessible(method);
             operations.put(method.getName(), method);
 
             String operationDescr = getDescription(annotation.description(), method.getName());
@@ -240,13 +241,14 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
     public Object getAttribute(final String attribute)
         throws AttributeNotFoundException, MBeanException, ReflectionException
     {
-        if (fields.containsKey(attribute))
+        final AttributeAccessor accessor = fields.get(attribute);
+        if (accessor != null)
         {
             final ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
             Thread.currentThread().setContextClassLoader(classloader);
             try
             {
-                return fields.get(attribute).get(instance());
+                return accessor.get(instance());
             }
             catch (IllegalArgumentException e)
             {
@@ -272,13 +274,14 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
     public void setAttribute(final Attribute attribute)
         throws AttributeNotFoundException, InvalidAttributeValueException, MBeanException, ReflectionException
     {
-        if (fields.containsKey(attribute.getName()))
+        final AttributeAccessor accessor = fields.get(attribute.getName());
+        if (accessor != null)
         {
             final ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
             Thread.currentThread().setContextClassLoader(classloader);
             try
             {
-                fields.get(attribute.getName()).set(instance(), attribute.getValue());
+                accessor.set(instance(), attribute.getValue());
             }
             catch (IllegalArgumentException e)
             {
@@ -307,17 +310,35 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
     public AttributeList getAttributes(final String[] attributes)
     {
         final AttributeList list = new AttributeList();
-        for (String n : attributes)
+
+        // switch the classloader and resolve the instance just once for all attributes
+        final ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classloader);
+        try
         {
-            try
+            final Object currentInstance = instance();
+            for (String n : attributes)
             {
-                list.add(new Attribute(n, getAttribute(n)));
-            }
-            catch (Exception ignore)
-            {
-                // no-op
+                final AttributeAccessor accessor = fields.get(n);
+                if (accessor == null)
+                {
+                    continue;
+                }
+
+                try
+                {
+                    list.add(new Attribute(n, accessor.get(currentInstance)));
+                }
+                catch (Exception e)
+                {
+                    LOGGER.log(Level.SEVERE, "can't get " + n + " value", e);
+                }
             }
         }
+        finally
+        {
+            Thread.currentThread().setContextClassLoader(oldCl);
+        }
         return list;
     }
 
@@ -345,13 +366,14 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
     public Object invoke(final String actionName, final Object[] params, final String[] signature)
         throws MBeanException, ReflectionException
     {
-        if (operations.containsKey(actionName))
+        final Method operation = operations.get(actionName);
+        if (operation != null)
         {
             final ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
             Thread.currentThread().setContextClassLoader(classloader);
             try
             {
-                return operations.get(actionName).invoke(instance(), params);
+                return operation.invoke(instance(), params);
             }
             catch (IllegalArgumentException e)
             {
@@ -373,7 +395,18 @@ public class DynamicMBeanWrapper extends NotificationBroadcasterSupport implemen
         throw new MBeanException(new IllegalArgumentException(), actionName + " doesn't exist");
     }
 
-    private synchronized Object instance()
+    private Object instance()
+    {
+        // the reference is resolved just once, afterwards it's a simple volatile read
+        final Object result = instance;
+        if (result != null)
+        {
+            return result;
+        }
+        return resolveInstance();
+    }
+
+    private synchronized Object resolveInstance()
     {
         final ClassLoader oldCl = Thread.currentThread().getContextClassLoader();
         Thread.currentThread().setContextClassLoader(classloader);
@@ -18,8 +18,10 @@
  */
 package org.apache.deltaspike.core.impl.scope;
 
+import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.core.util.context.AbstractContext;
 import org.apache.deltaspike.core.util.context.ContextualStorage;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.inject.spi.BeanManager;
@@ -64,6 +66,23 @@ public abstract class AbstractBeanHolder<K> implements Serializable
         {
             contextualStorage = new ContextualStorage(beanManager, useConcurrentStorage, usePassivationCapableStorage);
             storageMap.put(key, contextualStorage);
+
+            RuntimeStatistics.recordContextualStorageCreated(getStatisticsName());
+        }
+        return contextualStorage;
+    }
+
+    /**
+     * Removes the storage for the given key. The caller is responsible for destroying its beans.
+     *
+     * @return the removed storage or null if there was no storage for the key
+     */
+    public ContextualStorage removeContextualStorage(K key)
+    {
+        ContextualStorage contextualStorage = storageMap.remove(key);
+        if (contextualStorage != null)
+        {
+            RuntimeStatistics.recordContextualStoragesDestroyed(getStatisticsName(), 1);
         }
         return contextualStorage;
     }
@@ -77,9 +96,15 @@ public abstract class AbstractBeanHolder<K> implements Serializable
     {
         Map<K, ContextualStorage> oldStorageMap = storageMap;
         storageMap = new ConcurrentHashMap<K, ContextualStorage>();
+        RuntimeStatistics.recordContextualStoragesDestroyed(getStatisticsName(), oldStorageMap.size());
         return oldStorageMap;
     }
 
+    private String getStatisticsName()
+    {
+        return ProxyUtils.getUnproxiedClass(getClass()).getSimpleName();
+    }
+
     @PreDestroy
     public void destroyBeans()
     {
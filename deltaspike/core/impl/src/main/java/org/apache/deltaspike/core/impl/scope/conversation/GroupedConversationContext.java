@@ -95,7 +95,7 @@ public class GroupedConversationContext extends AbstractContext implements Group
     public ContextualStorage closeConversation(Class<?> conversationGroup, Annotation... qualifiers)
     {
         ConversationKey conversationKey = new ConversationKey(conversationGroup, qualifiers);
-        ContextualStorage contextualStorage = this.conversationBeanHolder.getStorageMap().remove(conversationKey);
+        ContextualStorage contextualStorage = this.conversationBeanHolder.removeContextualStorage(conversationKey);
 
         if (contextualStorage != null)
         {
@@ -130,7 +130,8 @@ public class GroupedConversationContext extends AbstractContext implements Group
                 {
                     AbstractContext.destroyAllActive(entry.getValue());
                     result.add(entry.getValue());
-                    storageMap.remove(entry.getKey()); //ok due to ConcurrentHashMap
+                    //ok due to ConcurrentHashMap
+                    this.conversationBeanHolder.removeContextualStorage(entry.getKey());
                 }
                 else
                 {
@@ -138,7 +139,8 @@ public class GroupedConversationContext extends AbstractContext implements Group
 
                     if (entry.getValue().getStorage().isEmpty())
                     {
-                        storageMap.remove(entry.getKey()); //ok due to ConcurrentHashMap
+                        //ok due to ConcurrentHashMap
+                        this.conversationBeanHolder.removeContextualStorage(entry.getKey());
                     }
                 }
             }
@@ -31,12 +31,15 @@ import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.PassivationCapable;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Typed()
 public class ViewAccessContext extends AbstractContext implements ViewAccessContextManager
 {
-    private static final String KEY = "VAS"; //TODO re-visit key (e.g. view-id instead of using one big storage)
+    // partition key used as long as no view has been processed in the current window
+    private static final String NO_VIEW_KEY = "";
 
     private final BeanManager beanManager;
     private final WindowContextImpl windowContext;
@@ -99,7 +102,14 @@ public class ViewAccessContext extends AbstractContext implements ViewAccessCont
     @Override
     protected ContextualStorage getContextualStorage(Contextual<?> contextual, boolean createIfNotExist)
     {
-        return this.viewAccessBeanHolder.getContextualStorage(this.beanManager, KEY, createIfNotExist);
+        return this.viewAccessBeanHolder.getContextualStorage(
+                this.beanManager, toStorageKey(this.viewAccessViewHistory.getLastView()), createIfNotExist);
+    }
+
+    @Override
+    protected List<ContextualStorage> getActiveContextualStorages()
+    {
+        return new ArrayList<ContextualStorage>(this.viewAccessBeanHolder.getStorageMap().values());
     }
 
     @Override
@@ -128,32 +138,66 @@ public class ViewAccessContext extends AbstractContext implements ViewAccessCont
         }
 
         // destroy beans only if the view has been changed
-        if (force || !view.equals(viewAccessViewHistory.getLastView()))
+        String lastView = viewAccessViewHistory.getLastView();
+        if (force || !view.equals(lastView))
         {
             viewAccessViewHistory.setLastView(view);
             
-            destroyExpiredBeans(force);
+            destroyExpiredBeans(force, lastView, view);
         }
         
         // clear history after each rendering process
         viewAccessBeanAccessHistory.getAccessedBeans().clear();
     }
     
-    private void destroyExpiredBeans(boolean force)
+    /**
+     * The storage is partitioned by the view which was processed last.
+     * Beans which were accessed during the current request get moved to the partition of the new view,
+     * all other beans of the partition of the previous view get destroyed.
+     */
+    private void destroyExpiredBeans(boolean force, String previousView, String newView)
     {
-        ContextualStorage storage = viewAccessBeanHolder.getContextualStorage(beanManager, KEY, false);
-        if (storage != null)
+        if (force)
         {
-            for (Map.Entry<Object, ContextualInstanceInfo<?>> storageEntry : storage.getStorage().entrySet())
+            for (ContextualStorage storage : viewAccessBeanHolder.forceNewStorage().values())
             {
-                if (force || !viewAccessBeanAccessHistory.getAccessedBeans().contains((String) storageEntry.getKey()))
+                AbstractContext.destroyAllActive(storage);
+            }
+            return;
+        }
+
+        ContextualStorage previousStorage = viewAccessBeanHolder.removeContextualStorage(toStorageKey(previousView));
+        if (previousStorage == null)
+        {
+            return;
+        }
+
+        Map<Object, ContextualInstanceInfo<?>> previousInstances = previousStorage.getStorage();
+        ContextualStorage newStorage = null;
+
+        for (String beanId : viewAccessBeanAccessHistory.getAccessedBeans())
+        {
+            ContextualInstanceInfo<?> instanceInfo = previousInstances.remove(beanId);
+            if (instanceInfo != null)
+            {
+                if (newStorage == null)
                 {
-                    Contextual bean = storage.getBean(storageEntry.getKey());
-                    AbstractContext.destroyBean(bean, storageEntry.getValue());
-                    storage.getStorage().remove(storageEntry.getKey()); //ok due to ConcurrentHashMap
+                    newStorage = viewAccessBeanHolder.getContextualStorage(beanManager, toStorageKey(newView), true);
                 }
+                newStorage.getStorage().put(beanId, instanceInfo);
             }
         }
+
+        AbstractContext.destroyAllActive(previousStorage);
+    }
+
+    private static String toStorageKey(String view)
+    {
+        if (view == null)
+        {
+            return NO_VIEW_KEY;
+        }
+        return view;
     }
 
     @Override
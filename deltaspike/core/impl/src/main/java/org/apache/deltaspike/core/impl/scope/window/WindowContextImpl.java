@@ -29,6 +29,7 @@ import org.apache.deltaspike.core.api.scope.WindowScoped;
 import org.apache.deltaspike.core.spi.scope.window.WindowContext;
 import org.apache.deltaspike.core.util.context.AbstractContext;
 import org.apache.deltaspike.core.util.context.ContextualStorage;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
 
 /**
  * CDI Context to handle &#064;{@link WindowScoped} beans.
@@ -93,7 +94,7 @@ public class WindowContextImpl extends AbstractContext implements WindowContext
             return false;
         }
 
-        ContextualStorage windowStorage = windowBeanHolder.getStorageMap().remove(windowId);
+        ContextualStorage windowStorage = windowBeanHolder.removeContextualStorage(windowId);
 
         if (windowStorage != null)
         {
@@ -102,6 +103,7 @@ public class WindowContextImpl extends AbstractContext implements WindowContext
                 this.windowIdHolder.setWindowId(null);
             }
             AbstractContext.destroyAllActive(windowStorage);
+            RuntimeStatistics.recordWindowContextClosed();
         }
 
         return windowStorage != null;
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.test.core.api.scope.viewaccess;
 
 import org.apache.deltaspike.core.impl.scope.DeltaSpikeContextExtension;
+import org.apache.deltaspike.core.impl.scope.viewaccess.ViewAccessBeanHolder;
 import org.apache.deltaspike.core.spi.scope.window.WindowContext;
 import org.apache.deltaspike.test.category.SeCategory;
 import org.apache.deltaspike.test.util.ArchiveUtils;
@@ -67,6 +68,9 @@ public class ViewAccessScopedTest
     @Inject
     private DeltaSpikeContextExtension contextExtension;
 
+    @Inject
+    private ViewAccessBeanHolder viewAccessBeanHolder;
+
     @Test
     public void usageOnOnePageTest()
     {
@@ -251,4 +255,26 @@ public class ViewAccessScopedTest
         Assert.assertNull(viewAccessScopedBeanY.getValue());
         windowContext.closeWindow("w2");
     }
+
+    @Test
+    public void storagePartitionedByView()
+    {
+        windowContext.activateWindow("w1");
+
+        viewAccessScopedBeanX.setValue("x1");
+        viewAccessScopedBeanY.setValue("y1");
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewA");
+        Assert.assertEquals(1, viewAccessBeanHolder.getStorageMap().size());
+        Assert.assertTrue(viewAccessBeanHolder.getStorageMap().containsKey("viewA"));
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+        contextExtension.getViewAccessScopedContext().onProcessingViewFinished("viewB");
+        Assert.assertEquals(1, viewAccessBeanHolder.getStorageMap().size());
+        Assert.assertEquals(1, viewAccessBeanHolder.getStorageMap().get("viewB").getStorage().size());
+
+        Assert.assertEquals("x1", viewAccessScopedBeanX.getValue());
+        Assert.assertNull(viewAccessScopedBeanY.getValue());
+
+        windowContext.closeWindow("w1");
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.data.api;
 
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.metamodel.SingularAttribute;
@@ -60,12 +61,36 @@ public interface EntityRepository<E, PK extends Serializable> extends Deactivata
      */
     E saveAndFlushAndRefresh(E entity);
 
+    /**
+     * {@link #save(Object)}s all given entities. The persistence context is flushed after
+     * each batch of entities and the saved entities are detached afterwards, which keeps the
+     * persistence context small for large imports. Entities which were already managed before
+     * the call stay managed. The batch size is configured with
+     * {@code deltaspike.data.batch-write.batch_size}.
+     * @param entities          Entities to save.
+     */
+    void saveAll(Iterable<E> entities);
+
+    /**
+     * Same as {@link #saveAll(Iterable)}, for entities which are produced while iterating,
+     * e.g. when reading from a file.
+     * @param entities          Entities to save.
+     */
+    void saveAll(Iterator<E> entities);
+
     /**
      * Convenience access to {@link javax.persistence.EntityManager#remove(Object)}.
      * @param entity            Entity to remove.
      */
     void remove(E entity);
 
+    /**
+     * {@link #remove(Object)}s all given entities. The persistence context is flushed
+     * after each batch of entities, see {@link #saveAll(Iterable)}.
+     * @param entities          Entities to remove.
+     */
+    void removeAll(Iterable<E> entities);
+
     /**
      * Convenience access to {@link javax.persistence.EntityManager#remove(Object)}
      * with a following flush.
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fetches the given entity associations together with the query result, instead of
+ * loading them lazily one by one for each result entity. Applies to method expression
+ * queries. Queries defined with {@link Query} can fetch associations directly in JPQL,
+ * results of type {@link QueryResult} with {@link QueryResult#fetch(String)}.
+ * <pre>
+ * &#064;FetchJoin({ "address", "orders" })
+ * List&lt;Person&gt; findByLastName(String lastName);
+ * </pre>
+ *
+ * Fetching collection associations removes duplicate result entities with a distinct query.
+ * Paging such a query with {@link FirstResult} or {@link MaxResults} might be done in memory
+ * by the persistence provider. At most one {@code List} or {@code Collection} without an
+ * order column can be fetched, further collections have to be a {@code Set}.
+ * <p/>
+ * The attributes have to be associations of the entity. Unknown attributes, as well as the
+ * annotation on {@link Query} methods, bulk operations or methods returning a projection, are
+ * reported as deployment errors.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchJoin
+{
+
+    /**
+     * Names of the entity attributes to fetch.
+     */
+    String[] value();
+
+}
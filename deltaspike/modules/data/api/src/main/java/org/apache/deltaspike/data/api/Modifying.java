@@ -27,6 +27,8 @@ import java.lang.annotation.Target;
  * Marks a query method to be modifying. This will execute the
  * {@link javax.persistence.Query#executeUpdate()} method instead of
  * {@link javax.persistence.Query#getResultList()} (or the corresponding single result method).
+ * Also required for bulk delete and update method expressions, e.g. {@code deleteByName(String name)}.
+ * Modifying methods return void, int or long.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
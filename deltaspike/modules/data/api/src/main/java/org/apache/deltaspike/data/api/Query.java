@@ -78,4 +78,12 @@ public @interface Query
      */
     SingleResultType singleResult() default SingleResultType.JPA;
 
+    /**
+     * Marks the query result as read-only. The persistence provider is advised not to keep
+     * snapshots of the returned entities for dirty checking, and pending changes are not
+     * flushed before executing the query. Changes to the returned entities might not be
+     * persisted. Ignored for {@link Modifying} queries.
+     */
+    boolean readOnly() default false;
+
 }
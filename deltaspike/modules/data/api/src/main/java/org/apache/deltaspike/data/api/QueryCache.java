@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the result of a query method per set of method arguments. Applies to query methods
+ * returning a list or a single result, other methods are not cached.
+ * <p/>
+ * The cache is held in memory. For entities, only their ids are cached: each hit loads them into
+ * the EntityManager of the caller, so callers get their own managed instances. Other result values,
+ * e.g. projections or mapped DTOs, are returned as the same instances to all callers and must not
+ * be modified. Saving or removing an entity through an {@link EntityRepository} or executing a
+ * {@link Modifying} query invalidates all cached results of repositories for the same entity type.
+ * Changes done by other means are only picked up after {@link #timeToLive()}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryCache
+{
+
+    /**
+     * How long a cached result is used.
+     */
+    long timeToLive() default 60;
+
+    /**
+     * Time unit of {@link #timeToLive()}.
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Maximum number of cached results for the method. The least recently used results are
+     * evicted first.
+     */
+    int maxEntries() default 1000;
+
+}
@@ -19,9 +19,11 @@
 package org.apache.deltaspike.data.api;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.SingularAttribute;
 
 /**
@@ -109,6 +111,21 @@ public interface QueryResult<E>
      */
     QueryResult<E> firstResult(int first);
 
+    /**
+     * Keyset pagination: Restrict the result to the entries following the given key.
+     * The key contains the values of the last seen entry for the attributes used in
+     * the orderAsc / orderDesc calls, in the same sequence. The orderings should
+     * make the entries unique, e.g. by ordering by the ID last. In contrast to
+     * {@link #firstResult(int)}, this does not get slower for deeper pages.
+     * {@link #count()} ignores the key and counts the whole result. Queries with GROUP BY
+     * or HAVING are not supported.
+     *
+     * @param lastSeenKey       Order attribute values of the last seen entry, or
+     *                          none to start from the beginning. Values must not be null.
+     * @return                  Fluent API: the result instance.
+     */
+    QueryResult<E> seekAfter(Object... lastSeenKey);
+
     /**
      * Sets the query lock mode.
      *
@@ -134,6 +151,33 @@ public interface QueryResult<E>
      */
     QueryResult<E> hint(String hint, Object value);
 
+    /**
+     * Execute the query in read-only mode.
+     *
+     * @see Query#readOnly()
+     * @return                  Fluent API: the result instance.
+     */
+    QueryResult<E> readOnly();
+
+    /**
+     * Fetch the given association together with the result entities, so it is not loaded
+     * lazily for each entity. This is the typesafe version, alternatively a
+     * {@link #fetch(String)} String can be used.
+     *
+     * @param attribute         Association attribute.
+     * @return                  Fluent API: the result instance.
+     */
+    <X> QueryResult<E> fetch(Attribute<E, X> attribute);
+
+    /**
+     * Fetch the given association together with the result entities, so it is not loaded
+     * lazily for each entity.
+     *
+     * @param attribute         Association attribute.
+     * @return                  Fluent API: the result instance.
+     */
+    QueryResult<E> fetch(String attribute);
+
     /**
      * Fetch the result set.
      *
@@ -164,11 +208,36 @@ public interface QueryResult<E>
     E getAnyResult();
 
     /**
-     * Count the result set.
+     * Count the result set. The count is executed once per result instance and
+     * reused by further calls, e.g. from {@link #countPages()}. Changing the query
+     * with {@link #hint(String, Object)}, {@link #lockMode(LockModeType)} or
+     * {@link #flushMode(FlushModeType)} discards the remembered count.
      * @return                  Result count.
      */
     long count();
 
+    /**
+     * Share the result of {@link #count()} with other invocations of the same repository
+     * method with the same arguments. The cached count is discarded when the time to
+     * live expires or when entities of the repository type are modified through a
+     * repository.
+     *
+     * @param timeToLive        How long the count is cached.
+     * @param unit              Time unit of the time to live.
+     * @return                  Fluent API: the result instance.
+     */
+    QueryResult<E> cacheCount(long timeToLive, TimeUnit unit);
+
+    /**
+     * Allow {@link #count()} and {@link #countPages()} to return an estimate from the
+     * enabled {@link org.apache.deltaspike.data.spi.ApproximateCountProvider}, instead
+     * of executing a count query. Falls back to an exact count if no provider is
+     * enabled or the provider returns no estimate.
+     *
+     * @return                  Fluent API: the result instance.
+     */
+    QueryResult<E> allowApproximateCount();
+
     /**
      * Set a page size on the query result. Defaults to 10 or takes the value of a
      * previous {@link #maxResults(int)} call.
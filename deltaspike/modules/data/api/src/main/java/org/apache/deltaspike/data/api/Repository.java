@@ -49,4 +49,11 @@ public @interface Repository
      */
     String methodPrefix() default "";
 
+    /**
+     * Executes all queries of the repository in read-only mode.
+     *
+     * @see Query#readOnly()
+     */
+    boolean readOnly() default false;
+
 }
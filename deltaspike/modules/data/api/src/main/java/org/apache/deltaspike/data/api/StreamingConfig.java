@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how repository methods returning a {@link java.util.Iterator} fetch their result.
+ * The result is loaded lazily in chunks of {@link #chunkSize()} rows, so the query should
+ * define an ordering to get a stable result across chunks.
+ * <p/>
+ * Can be applied to a single method or to the repository type.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface StreamingConfig
+{
+
+    int DEFAULT_CHUNK_SIZE = 100;
+
+    /**
+     * Number of rows fetched by a single query round trip.
+     */
+    int chunkSize() default DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Detach the entities of a chunk from the EntityManager once the next chunk is fetched.
+     * Keeps the persistence context small, but pending changes on detached entities are lost.
+     */
+    boolean detachChunks() default true;
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api.config.base;
+
+import org.apache.deltaspike.core.api.config.base.TypedConfig;
+
+public interface DataBaseConfig
+{
+    interface BatchWrite
+    {
+        //should match the JDBC batch size configured for the persistence provider
+        TypedConfig<Integer> BATCH_SIZE =
+            new TypedConfig<Integer>("deltaspike.data.batch-write.batch_size", 50);
+    }
+
+    interface AsyncExecution
+    {
+        //number of threads executing repository methods which return a Future
+        TypedConfig<Integer> THREAD_POOL_SIZE =
+            new TypedConfig<Integer>("deltaspike.data.async.thread_pool_size", 4);
+
+        //JNDI name of a container managed executor, the own thread pool is only used if the lookup fails
+        TypedConfig<String> EXECUTOR_JNDI_NAME =
+            new TypedConfig<String>("deltaspike.data.async.executor_jndi_name",
+                "java:comp/DefaultManagedExecutorService");
+    }
+
+    interface Statistics
+    {
+        //repository methods running longer are logged with their query, 0 disables the log
+        //QueryResult and Iterator results execute their query after the method returned, which isn't measured
+        TypedConfig<Integer> SLOW_QUERY_THRESHOLD_MS =
+            new TypedConfig<Integer>("deltaspike.data.statistics.slow_query_threshold_ms", 0);
+    }
+}
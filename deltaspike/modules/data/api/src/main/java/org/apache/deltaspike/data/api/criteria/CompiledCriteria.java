@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api.criteria;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+/**
+ * A {@link Criteria} frozen into a reusable query template. The criteria query is built
+ * once, values for {@link CriteriaParameter} slots are bound on each created query.
+ * Instances are not bound to the EntityManager current at compile time.
+ * <p/>
+ * Creating a query from the template uses the underlying JPA {@code CriteriaQuery}, which
+ * persistence providers don't guarantee to be thread safe. An instance must therefore not
+ * be used by concurrent threads, e.g. keep one per conversation or request instead of
+ * sharing it in an application scoped bean.
+ *
+ * @param <R> Result type.
+ */
+public interface CompiledCriteria<R>
+{
+
+    /**
+     * Creates a new JPA query from the template, using the EntityManager currently
+     * resolved for the repository which compiled the criteria.
+     * @return A {@link TypedQuery} object, parameter values have to be bound before execution.
+     */
+    TypedQuery<R> createQuery();
+
+    /**
+     * Creates a new JPA query from the template with the given EntityManager.
+     * @param entityManager The EntityManager to create the query with.
+     * @return A {@link TypedQuery} object, parameter values have to be bound before execution.
+     */
+    TypedQuery<R> createQuery(EntityManager entityManager);
+
+}
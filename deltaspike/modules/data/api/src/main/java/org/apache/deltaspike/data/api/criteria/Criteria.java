@@ -74,6 +74,13 @@ public interface Criteria<C, R>
      */
     TypedQuery<R> createQuery();
 
+    /**
+     * Builds the criteria query once, to be reused with different {@link CriteriaParameter} values.
+     * Further changes to this Criteria instance do not affect the result.
+     * @return A reusable query template.
+     */
+    CompiledCriteria<R> compile();
+
     /**
      * Boolean OR with another Criteria.
      * @param criteria      The right side of the boolean OR.
@@ -303,6 +310,74 @@ public interface Criteria<C, R>
      */
     <P> Criteria<C, R> in(SingularAttribute<? super C, P> att, P... values);
 
+    /**
+     * Equals predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P> Criteria<C, R> eq(SingularAttribute<? super C, P> att, CriteriaParameter param);
+
+    /**
+     * Not equals predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P> Criteria<C, R> notEq(SingularAttribute<? super C, P> att, CriteriaParameter param);
+
+    /**
+     * Like predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P> Criteria<C, R> like(SingularAttribute<? super C, String> att, CriteriaParameter param);
+
+    /**
+     * Not like predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P> Criteria<C, R> notLike(SingularAttribute<? super C, String> att, CriteriaParameter param);
+
+    /**
+     * Less than predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P extends Comparable<? super P>> Criteria<C, R> lt(SingularAttribute<? super C, P> att,
+            CriteriaParameter param);
+
+    /**
+     * Less than or equals predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P extends Comparable<? super P>> Criteria<C, R> ltOrEq(SingularAttribute<? super C, P> att,
+            CriteriaParameter param);
+
+    /**
+     * Greater than predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P extends Comparable<? super P>> Criteria<C, R> gt(SingularAttribute<? super C, P> att,
+            CriteriaParameter param);
+
+    /**
+     * Greater than or equals predicate. The value is bound to the given parameter.
+     * @param att           The attribute to compare with.
+     * @param param         The parameter slot for the comparison value.
+     * @return              Fluent API: Criteria instance.
+     */
+    <P extends Comparable<? super P>> Criteria<C, R> gtOrEq(SingularAttribute<? super C, P> att,
+            CriteriaParameter param);
+
     /**
      * Return the list of predicates applicable for this Criteria instance.
      * @param builder       A CriteriaBuilder used to instantiate the Predicates.
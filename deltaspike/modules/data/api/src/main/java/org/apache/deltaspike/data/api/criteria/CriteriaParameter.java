@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api.criteria;
+
+import java.io.Serializable;
+
+/**
+ * A named parameter slot in a {@link Criteria} predicate. The value is bound on the
+ * query created from the criteria, e.g. with {@link javax.persistence.TypedQuery#setParameter(String, Object)}.
+ */
+public final class CriteriaParameter implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private CriteriaParameter(String name)
+    {
+        if (name == null || name.length() == 0)
+        {
+            throw new IllegalArgumentException("Parameter name must not be empty");
+        }
+        this.name = name;
+    }
+
+    /**
+     * Create a parameter slot.
+     * @param name          The parameter name used for binding the value.
+     * @return              Parameter instance.
+     */
+    public static CriteriaParameter named(String name)
+    {
+        return new CriteriaParameter(name);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return obj instanceof CriteriaParameter && name.equals(((CriteriaParameter) obj).name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return ":" + name;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.spi;
+
+/**
+ * Estimates the size of a query result without running a full count query. Used by
+ * {@link org.apache.deltaspike.data.api.QueryResult#count()} and
+ * {@link org.apache.deltaspike.data.api.QueryResult#countPages()} for results which
+ * opted in with {@link org.apache.deltaspike.data.api.QueryResult#allowApproximateCount()}.
+ * <pre>
+ * public class PostgresRowEstimate implements ApproximateCountProvider {
+ *
+ *    &#064;Override
+ *    public Long approximateCount(QueryInvocationContext context) {
+ *        if (!context.getMethod().getName().equals("findAllPaged")) {
+ *            return null;
+ *        }
+ *        return ((Number) context.getEntityManager()
+ *                .createNativeQuery("select reltuples from pg_class where relname = 'simple_table'")
+ *                .getSingleResult()).longValue();
+ *    }
+ * }
+ * </pre>
+ *
+ * Implementations are looked up as CDI beans. Only one provider must be enabled.
+ */
+public interface ApproximateCountProvider
+{
+
+    /**
+     * Estimate the number of rows returned by the invoked repository method,
+     * e.g. from database statistics.
+     *
+     * @param context           The repository method invocation.
+     * @return                  The estimated count, or {@code null} to run an exact count.
+     */
+    Long approximateCount(QueryInvocationContext context);
+
+}
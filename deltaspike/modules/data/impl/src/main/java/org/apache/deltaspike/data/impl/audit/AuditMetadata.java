@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.audit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.deltaspike.data.api.audit.CreatedOn;
+import org.apache.deltaspike.data.api.audit.ModifiedBy;
+import org.apache.deltaspike.data.api.audit.ModifiedOn;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.property.query.AnnotatedPropertyCriteria;
+import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
+
+/**
+ * Audited properties of an entity class. Scanning a class for the audit annotations is
+ * expensive compared to setting the values, so it's done once per entity class.
+ */
+final class AuditMetadata
+{
+
+    private static final ConcurrentMap<Class<?>, AuditMetadata> METADATA =
+            new ConcurrentHashMap<Class<?>, AuditMetadata>();
+
+    private final List<TimestampProperty> createTimestamps;
+    private final List<TimestampProperty> updateTimestamps;
+    private final List<Property<Object>> principals;
+
+    private AuditMetadata(Class<?> entityClass)
+    {
+        List<TimestampProperty> onCreate = new ArrayList<TimestampProperty>();
+        List<TimestampProperty> onUpdate = new ArrayList<TimestampProperty>();
+        for (Property<Object> property : writableProperties(entityClass, ModifiedOn.class))
+        {
+            TimestampProperty timestamp = new TimestampProperty(property);
+            onUpdate.add(timestamp);
+            if (property.getAnnotatedElement().getAnnotation(ModifiedOn.class).onCreate())
+            {
+                onCreate.add(timestamp);
+            }
+        }
+        for (Property<Object> property : writableProperties(entityClass, CreatedOn.class))
+        {
+            onCreate.add(new TimestampProperty(property));
+        }
+        createTimestamps = Collections.unmodifiableList(onCreate);
+        updateTimestamps = Collections.unmodifiableList(onUpdate);
+        principals = Collections.unmodifiableList(writableProperties(entityClass, ModifiedBy.class));
+    }
+
+    static AuditMetadata of(Class<?> entityClass)
+    {
+        AuditMetadata result = METADATA.get(entityClass);
+        if (result == null)
+        {
+            result = new AuditMetadata(entityClass);
+            AuditMetadata existing = METADATA.putIfAbsent(entityClass, result);
+            if (existing != null)
+            {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    List<TimestampProperty> getTimestamps(boolean create)
+    {
+        return create ? createTimestamps : updateTimestamps;
+    }
+
+    List<Property<Object>> getPrincipals()
+    {
+        return principals;
+    }
+
+    private static List<Property<Object>> writableProperties(Class<?> entityClass,
+            Class<? extends Annotation> annotation)
+    {
+        List<Property<Object>> result = PropertyQueries.<Object> createQuery(entityClass)
+                .addCriteria(new AnnotatedPropertyCriteria(annotation))
+                .getWritableResultList();
+        for (Property<Object> property : result)
+        {
+            property.setAccessible();
+        }
+        return result;
+    }
+
+    /**
+     * A temporal property along with the way to create its values.
+     */
+    static final class TimestampProperty
+    {
+        private final Property<Object> property;
+        private final boolean calendar;
+        private final Constructor<?> dateConstructor;
+
+        private TimestampProperty(Property<Object> property)
+        {
+            this.property = property;
+            Class<?> type = property.getJavaClass();
+            this.calendar = Calendar.class.isAssignableFrom(type);
+            this.dateConstructor = Date.class.isAssignableFrom(type) ? findDateConstructor(type) : null;
+        }
+
+        Property<Object> getProperty()
+        {
+            return property;
+        }
+
+        Object now(long systime) throws Exception
+        {
+            if (calendar)
+            {
+                Calendar cal = Calendar.getInstance();
+                cal.setTimeInMillis(systime);
+                return cal;
+            }
+            else if (dateConstructor != null)
+            {
+                return dateConstructor.newInstance(systime);
+            }
+            throw new IllegalArgumentException("Annotated field is not a supported date class: "
+                    + property.getJavaClass());
+        }
+
+        private static Constructor<?> findDateConstructor(Class<?> type)
+        {
+            try
+            {
+                return type.getConstructor(Long.TYPE);
+            }
+            catch (NoSuchMethodException e)
+            {
+                return null;
+            }
+        }
+    }
+
+}
@@ -27,15 +27,13 @@ import javax.inject.Inject;
 
 import org.apache.deltaspike.core.util.metadata.AnnotationInstanceProvider;
 import org.apache.deltaspike.data.api.audit.CurrentUser;
-import org.apache.deltaspike.data.api.audit.ModifiedBy;
 import org.apache.deltaspike.data.impl.property.Property;
-import org.apache.deltaspike.data.impl.property.query.AnnotatedPropertyCriteria;
-import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
-import org.apache.deltaspike.data.impl.property.query.PropertyQuery;
 
 class PrincipalProvider extends AuditProvider
 {
 
+    private static final CurrentUser CURRENT_USER = AnnotationInstanceProvider.of(CurrentUser.class);
+
     @Inject
     private BeanManager manager;
 
@@ -53,9 +51,7 @@ class PrincipalProvider extends AuditProvider
 
     private void updatePrincipal(Object entity)
     {
-        PropertyQuery<Object> query = PropertyQueries.<Object> createQuery(entity.getClass())
-                .addCriteria(new AnnotatedPropertyCriteria(ModifiedBy.class));
-        for (Property<Object> property : query.getWritableResultList())
+        for (Property<Object> property : AuditMetadata.of(entity.getClass()).getPrincipals())
         {
             setProperty(entity, property);
         }
@@ -78,9 +74,8 @@ class PrincipalProvider extends AuditProvider
 
     private Object resolvePrincipal(Object entity, Property<Object> property)
     {
-        CurrentUser principal = AnnotationInstanceProvider.of(CurrentUser.class);
         Class<?> propertyClass = property.getJavaClass();
-        Set<Bean<?>> beans = manager.getBeans(propertyClass, principal);
+        Set<Bean<?>> beans = manager.getBeans(propertyClass, CURRENT_USER);
         if (!beans.isEmpty() && beans.size() == 1)
         {
             Bean<?> bean = beans.iterator().next();
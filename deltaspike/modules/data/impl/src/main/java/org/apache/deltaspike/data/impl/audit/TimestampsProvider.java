@@ -18,18 +18,11 @@
  */
 package org.apache.deltaspike.data.impl.audit;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Level;
 
-import org.apache.deltaspike.data.api.audit.CreatedOn;
-import org.apache.deltaspike.data.api.audit.ModifiedOn;
+import org.apache.deltaspike.data.impl.audit.AuditMetadata.TimestampProperty;
 import org.apache.deltaspike.data.impl.property.Property;
-import org.apache.deltaspike.data.impl.property.query.AnnotatedPropertyCriteria;
-import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
-import org.apache.deltaspike.data.impl.property.query.PropertyQuery;
 
 /**
  * Set timestamps on marked properties.
@@ -51,32 +44,24 @@ class TimestampsProvider extends AuditProvider
 
     private void updateTimestamps(Object entity, boolean create)
     {
-        long systime = System.currentTimeMillis();
-        List<Property<Object>> properties = new LinkedList<Property<Object>>();
-        PropertyQuery<Object> query = PropertyQueries.<Object> createQuery(entity.getClass())
-                .addCriteria(new AnnotatedPropertyCriteria(ModifiedOn.class));
-        properties.addAll(query.getWritableResultList());
-        if (create)
+        List<TimestampProperty> properties = AuditMetadata.of(entity.getClass()).getTimestamps(create);
+        if (properties.isEmpty())
         {
-            query = PropertyQueries.<Object> createQuery(entity.getClass())
-                    .addCriteria(new AnnotatedPropertyCriteria(CreatedOn.class));
-            properties.addAll(query.getWritableResultList());
+            return;
         }
-        for (Property<Object> property : properties)
+        long systime = System.currentTimeMillis();
+        for (TimestampProperty property : properties)
         {
-            setProperty(entity, property, systime, create);
+            setProperty(entity, property, systime);
         }
     }
 
-    private void setProperty(Object entity, Property<Object> property, long systime, boolean create)
+    private void setProperty(Object entity, TimestampProperty timestamp, long systime)
     {
+        Property<Object> property = timestamp.getProperty();
         try
         {
-            if (!isCorrectContext(property, create))
-            {
-                return;
-            }
-            Object now = now(property.getJavaClass(), systime);
+            Object now = timestamp.now(systime);
             property.setValue(entity, now);
             log.log(Level.FINER, "Updated property {0} with {1}", new Object[] { propertyName(entity, property), now });
         }
@@ -87,42 +72,4 @@ class TimestampsProvider extends AuditProvider
         }
     }
 
-    private boolean isCorrectContext(Property<Object> property, boolean create)
-    {
-        if (create && property.getAnnotatedElement().isAnnotationPresent(ModifiedOn.class))
-        {
-            ModifiedOn annotation = property.getAnnotatedElement().getAnnotation(ModifiedOn.class);
-            if (!annotation.onCreate())
-            {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private Object now(Class<?> field, long systime) throws Exception
-    {
-        if (isCalendarClass(field))
-        {
-            Calendar cal = Calendar.getInstance();
-            cal.setTimeInMillis(systime);
-            return cal;
-        }
-        else if (isDateClass(field))
-        {
-            return field.getConstructor(Long.TYPE).newInstance(systime);
-        }
-        throw new IllegalArgumentException("Annotated field is not a date class: " + field);
-    }
-
-    private boolean isCalendarClass(Class<?> field)
-    {
-        return Calendar.class.isAssignableFrom(field);
-    }
-
-    private boolean isDateClass(Class<?> field)
-    {
-        return Date.class.isAssignableFrom(field);
-    }
-
 }
@@ -22,6 +22,7 @@ import static org.apache.deltaspike.data.impl.util.QueryUtils.isNotEmpty;
 
 import java.lang.reflect.Method;
 
+import javax.inject.Inject;
 import javax.persistence.EntityManager;
 
 import org.apache.deltaspike.data.api.Query;
@@ -29,7 +30,7 @@ import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.meta.MethodType;
 import org.apache.deltaspike.data.impl.meta.QueryInvocation;
 import org.apache.deltaspike.data.impl.param.Parameters;
-import org.apache.deltaspike.data.impl.util.jpa.QueryStringExtractorFactory;
+import org.apache.deltaspike.data.impl.util.jpa.NamedQueryStringCache;
 
 /**
  * Create the query based on method annotations.
@@ -38,7 +39,8 @@ import org.apache.deltaspike.data.impl.util.jpa.QueryStringExtractorFactory;
 public class AnnotatedQueryBuilder extends QueryBuilder
 {
 
-    private final QueryStringExtractorFactory factory = new QueryStringExtractorFactory();
+    @Inject
+    private NamedQueryStringCache namedQueryStrings;
 
     @Override
     public Object execute(CdiQueryInvocationContext context)
@@ -62,9 +64,9 @@ public class AnnotatedQueryBuilder extends QueryBuilder
             }
             else
             {
-                javax.persistence.Query namedQuery = entityManager.createNamedQuery(query.named());
-                String named = factory.extract(namedQuery);
+                String named = namedQueryStrings.getQueryString(entityManager, query.named());
                 String jpqlQuery = context.applyQueryStringPostProcessors(named);
+                context.setQueryString(jpqlQuery);
                 result = params.applyTo(entityManager.createQuery(jpqlQuery));
             }
         }
@@ -25,6 +25,7 @@ public class MethodExpressionException extends RuntimeException
     private final String property;
     private final Class<?> repoClass;
     private final String method;
+    private final String reason;
 
     public MethodExpressionException(Class<?> repoClass, String method)
     {
@@ -32,15 +33,30 @@ public class MethodExpressionException extends RuntimeException
     }
 
     public MethodExpressionException(String property, Class<?> repoClass, String method)
+    {
+        this(property, repoClass, method, null);
+    }
+
+    public MethodExpressionException(Class<?> repoClass, String method, String reason)
+    {
+        this(null, repoClass, method, reason);
+    }
+
+    private MethodExpressionException(String property, Class<?> repoClass, String method, String reason)
     {
         this.property = property;
         this.repoClass = repoClass;
         this.method = method;
+        this.reason = reason;
     }
 
     @Override
     public String getMessage()
     {
+        if (reason != null)
+        {
+            return "Invalid method expression " + repoClass.getName() + "." + method + ": " + reason;
+        }
         if (property != null)
         {
             return "Invalid property '" + property + "' in method expression " + repoClass.getName() + "." + method;
@@ -34,6 +34,11 @@ public class MethodQueryBuilder extends QueryBuilder
     public Object execute(CdiQueryInvocationContext context)
     {
         Query jpaQuery = createJpaQuery(context);
+        QueryRoot root = context.getRepositoryMethod().getQueryRoot();
+        if (root.hasProjection())
+        {
+            return root.getProjection().map(context.executeQuery(jpaQuery));
+        }
         return context.executeQuery(jpaQuery);
     }
 
@@ -41,7 +46,11 @@ public class MethodQueryBuilder extends QueryBuilder
     {
         Parameters params = context.getParams();
         QueryRoot root = context.getRepositoryMethod().getQueryRoot();
-        String jpqlQuery = context.applyQueryStringPostProcessors(root.getJpqlQuery());
+        String jpqlQuery = root.getJpqlQuery();
+        if (context.hasQueryStringPostProcessors())
+        {
+            jpqlQuery = context.applyQueryStringPostProcessors(jpqlQuery);
+        }
         context.setQueryString(jpqlQuery);
         params.updateValues(root.getParameterUpdates());
         Query result = params.applyTo(context.getEntityManager().createQuery(jpqlQuery));
@@ -20,6 +20,7 @@ package org.apache.deltaspike.data.impl.builder;
 
 import java.lang.reflect.Method;
 import java.text.MessageFormat;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.persistence.LockModeType;
@@ -28,8 +29,10 @@ import javax.persistence.QueryHint;
 
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.mapping.QueryInOutMapper;
+import org.apache.deltaspike.data.impl.builder.postprocessor.ReadOnlyPostProcessor;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.param.Parameters;
+import org.apache.deltaspike.data.impl.util.bean.Destroyable;
 
 /**
  * Query builder factory. Delegates to concrete implementations.
@@ -38,7 +41,12 @@ public abstract class QueryBuilder
 {
 
     public static final String QUERY_SELECT = "select e from {0} e";
+    public static final String QUERY_SELECT_DISTINCT = "select distinct e from {0} e";
+    public static final String QUERY_SELECT_ATTRIBUTES = "select {1} from {0} e";
+    public static final String QUERY_FETCH_JOIN = " left join fetch {0}.{1}";
     public static final String QUERY_COUNT = "select count(e) from {0} e";
+    public static final String QUERY_DELETE = "delete from {0} e";
+    public static final String QUERY_UPDATE = "update {0} e set ";
     public static final String ENTITY_NAME = "e";
 
     public static String selectQuery(String entityName)
@@ -46,11 +54,41 @@ public abstract class QueryBuilder
         return MessageFormat.format(QUERY_SELECT, entityName);
     }
 
+    public static String selectQuery(String entityName, String selection)
+    {
+        return MessageFormat.format(QUERY_SELECT_ATTRIBUTES, entityName, selection);
+    }
+
+    public static String selectDistinctQuery(String entityName)
+    {
+        return MessageFormat.format(QUERY_SELECT_DISTINCT, entityName);
+    }
+
+    public static String fetchJoin(String attribute)
+    {
+        return fetchJoin(ENTITY_NAME, attribute);
+    }
+
+    public static String fetchJoin(String alias, String attribute)
+    {
+        return MessageFormat.format(QUERY_FETCH_JOIN, alias, attribute);
+    }
+
     public static String countQuery(String entityName)
     {
         return MessageFormat.format(QUERY_COUNT, entityName);
     }
 
+    public static String deleteQuery(String entityName)
+    {
+        return MessageFormat.format(QUERY_DELETE, entityName);
+    }
+
+    public static String updateQuery(String entityName)
+    {
+        return MessageFormat.format(QUERY_UPDATE, entityName);
+    }
+
     @SuppressWarnings("unchecked")
     public Object executeQuery(CdiQueryInvocationContext context)
     {
@@ -63,6 +101,11 @@ public abstract class QueryBuilder
             {
                 return mapper.mapResultList((List<Object>) result);
             }
+            if (result instanceof Iterator)
+            {
+                // the mapper is used after the invocation ended, so it is destroyed by the iterator
+                return new MappingIterator((Iterator<Object>) result, mapper, context.takeDestroyables());
+            }
             return mapper.mapResult(result);
         }
         return result;
@@ -131,6 +174,10 @@ public abstract class QueryBuilder
                 query.setHint(hint.name(), hint.value());
             }
         }
+        if (context.getRepositoryMethod().isReadOnly())
+        {
+            query = ReadOnlyPostProcessor.INSTANCE.postProcess(context, query);
+        }
         query = context.applyJpaQueryPostProcessors(query);
         return query;
     }
@@ -141,4 +188,48 @@ public abstract class QueryBuilder
                 result instanceof Query;
     }
 
+    private static final class MappingIterator implements Iterator<Object>
+    {
+
+        private final Iterator<Object> delegate;
+        private final QueryInOutMapper<Object> mapper;
+        private final List<Destroyable> destroyables;
+
+        private MappingIterator(Iterator<Object> delegate, QueryInOutMapper<Object> mapper,
+                List<Destroyable> destroyables)
+        {
+            this.delegate = delegate;
+            this.mapper = mapper;
+            this.destroyables = destroyables;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (delegate.hasNext())
+            {
+                return true;
+            }
+            for (Destroyable destroyable : destroyables)
+            {
+                destroyable.destroy();
+            }
+            destroyables.clear();
+            return false;
+        }
+
+        @Override
+        public Object next()
+        {
+            return mapper.mapResult(delegate.next());
+        }
+
+        @Override
+        public void remove()
+        {
+            delegate.remove();
+        }
+
+    }
+
 }
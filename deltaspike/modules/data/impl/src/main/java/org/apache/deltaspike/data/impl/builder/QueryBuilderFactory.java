@@ -24,16 +24,17 @@ import static org.apache.deltaspike.data.impl.meta.MethodType.PARSE;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.core.api.provider.DependentProvider;
 import org.apache.deltaspike.data.api.QueryResult;
-import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.meta.MethodType;
 import org.apache.deltaspike.data.impl.meta.QueryInvocationLiteral;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
 import org.apache.deltaspike.data.impl.util.bean.DependentProviderDestroyable;
+import org.apache.deltaspike.data.impl.util.bean.Destroyable;
 
 public class QueryBuilderFactory implements Serializable
 {
@@ -50,11 +51,17 @@ public class QueryBuilderFactory implements Serializable
                 }
             };
 
-    public QueryBuilder build(RepositoryMethod method, CdiQueryInvocationContext context)
+    /**
+     * Creates the builder for the given method. Query builders keep no state of an invocation,
+     * so the result can be used for subsequent invocations of the method. The builder is a
+     * dependent bean, its destroyable is added to the given list and has to be destroyed once
+     * the builder is no longer used.
+     */
+    public QueryBuilder build(RepositoryMethod method, List<Destroyable> destroyables)
     {
         DependentProvider<QueryBuilder> builder = BeanProvider.getDependent(
                 QueryBuilder.class, LITERALS.get(method.getMethodType()));
-        context.addDestroyable(new DependentProviderDestroyable(builder));
+        destroyables.add(new DependentProviderDestroyable(builder));
         if (method.returns(QueryResult.class))
         {
             return new WrappedQueryBuilder(builder.get());
@@ -20,18 +20,24 @@ package org.apache.deltaspike.data.impl.builder.part;
 
 import static org.apache.deltaspike.data.impl.util.QueryUtils.splitByKeyword;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.builder.QueryBuilderContext;
+import org.apache.deltaspike.data.impl.builder.result.Projection;
 import org.apache.deltaspike.data.impl.meta.MethodPrefix;
 import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
 import org.apache.deltaspike.data.impl.param.ParameterUpdate;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.util.EntityUtils;
 
 /**
  * Root of the query tree. Also the only exposed class in the package.
@@ -43,21 +49,86 @@ public class QueryRoot extends QueryPart
 
     private static final Logger log = Logger.getLogger(QueryRoot.class.getName());
 
+    private static final Pattern SET_PART_END = Pattern.compile("By(?=[A-Z])");
+
     private final String entityName;
     private final MethodPrefix methodPrefix;
+    private final Projection projection;
+    private final List<String> fetchJoins;
+    private final boolean distinct;
 
+    private SetQueryPart setPart;
     private String jpqlQuery;
     private List<ParameterUpdate> paramUpdates;
 
     protected QueryRoot(String entityName, MethodPrefix methodPrefix)
+    {
+        this(entityName, methodPrefix, null);
+    }
+
+    protected QueryRoot(String entityName, MethodPrefix methodPrefix, Projection projection)
+    {
+        this(entityName, methodPrefix, projection, Collections.<String> emptyList(), false);
+    }
+
+    protected QueryRoot(String entityName, MethodPrefix methodPrefix, Projection projection,
+            List<String> fetchJoins, boolean distinct)
     {
         this.entityName = entityName;
         this.methodPrefix = methodPrefix;
+        this.projection = projection;
+        this.fetchJoins = fetchJoins;
+        this.distinct = distinct;
     }
 
     public static QueryRoot create(String method, RepositoryComponent repo, MethodPrefix prefix)
     {
-        QueryRoot root = new QueryRoot(repo.getEntityName(), prefix);
+        return create(method, repo, prefix, (Projection) null);
+    }
+
+    public static QueryRoot create(String method, RepositoryComponent repo, MethodPrefix prefix,
+            Projection projection)
+    {
+        QueryRoot root = new QueryRoot(repo.getEntityName(), prefix, projection);
+        root.build(method, method, repo);
+        root.createJpql();
+        return root;
+    }
+
+    /**
+     * Creates a query fetching the given entity associations with the result. Fetching
+     * collections makes the query distinct.
+     */
+    public static QueryRoot create(String method, RepositoryComponent repo, MethodPrefix prefix,
+            List<String> fetchJoins)
+    {
+        boolean distinct = false;
+        int bags = 0;
+        for (String attribute : fetchJoins)
+        {
+            Property<Object> property = EntityUtils.attribute(repo.getEntityClass(), attribute);
+            if (property == null)
+            {
+                throw new MethodExpressionException(attribute, repo.getRepositoryClass(), method);
+            }
+            if (EntityUtils.isCollection(property))
+            {
+                distinct = true;
+                bags += EntityUtils.isBag(property) ? 1 : 0;
+            }
+            else if (!EntityUtils.isEntityClass(property.getJavaClass()))
+            {
+                throw new MethodExpressionException(repo.getRepositoryClass(), method,
+                        "@FetchJoin attribute '" + attribute + "' is not an association");
+            }
+        }
+        if (bags > 1)
+        {
+            // e.g. Hibernate rejects a query fetching multiple bags
+            throw new MethodExpressionException(repo.getRepositoryClass(), method,
+                    "@FetchJoin can fetch at most one List or Collection without @OrderColumn, use a Set instead");
+        }
+        QueryRoot root = new QueryRoot(repo.getEntityName(), prefix, null, fetchJoins, distinct);
         root.build(method, method, repo);
         root.createJpql();
         return root;
@@ -73,13 +144,32 @@ public class QueryRoot extends QueryPart
         return paramUpdates;
     }
 
+    public Projection getProjection()
+    {
+        return projection;
+    }
+
+    public boolean hasProjection()
+    {
+        return projection != null;
+    }
+
     @Override
     protected QueryPart build(String queryPart, String method, RepositoryComponent repo)
     {
         String[] orderByParts = splitByKeyword(queryPart, "OrderBy");
+        if (orderByParts.length > 1 && isBulkQuery())
+        {
+            throw new MethodExpressionException(repo.getRepositoryClass(), method);
+        }
         if (hasQueryConditions(orderByParts))
         {
-            String[] orParts = splitByKeyword(removePrefix(orderByParts[0]), "Or");
+            String conditions = removePrefix(orderByParts[0]);
+            if (methodPrefix.isUpdate())
+            {
+                conditions = buildSetPart(conditions, method, repo);
+            }
+            String[] orParts = splitByKeyword(conditions, "Or");
             boolean first = true;
             for (String or : orParts)
             {
@@ -103,7 +193,31 @@ public class QueryRoot extends QueryPart
     @Override
     protected QueryPart buildQuery(QueryBuilderContext ctx)
     {
-        ctx.append(QueryBuilder.selectQuery(entityName));
+        if (methodPrefix.isDelete())
+        {
+            ctx.append(QueryBuilder.deleteQuery(entityName));
+        }
+        else if (setPart != null)
+        {
+            ctx.append(QueryBuilder.updateQuery(entityName));
+            setPart.buildQuery(ctx);
+        }
+        else if (projection != null)
+        {
+            ctx.append(QueryBuilder.selectQuery(entityName, projection.getSelection(QueryBuilder.ENTITY_NAME)));
+        }
+        else if (distinct)
+        {
+            ctx.append(QueryBuilder.selectDistinctQuery(entityName));
+        }
+        else
+        {
+            ctx.append(QueryBuilder.selectQuery(entityName));
+        }
+        for (String attribute : fetchJoins)
+        {
+            ctx.append(QueryBuilder.fetchJoin(attribute));
+        }
         if (hasChildren(excludedForWhereCheck()))
         {
             ctx.append(" where ");
@@ -122,6 +236,38 @@ public class QueryRoot extends QueryPart
         return jpqlQuery;
     }
 
+    /**
+     * Splits the attributes to update from the conditions of an update method expression.
+     *
+     * @return The conditions.
+     */
+    private String buildSetPart(String queryPart, String method, RepositoryComponent repo)
+    {
+        // attributes can contain "By" themselves, e.g. createdBy - the first split with valid attributes wins
+        Matcher matcher = SET_PART_END.matcher(queryPart);
+        MethodExpressionException failure = null;
+        while (matcher.find())
+        {
+            try
+            {
+                SetQueryPart candidate = new SetQueryPart();
+                candidate.build(queryPart.substring(0, matcher.start()), method, repo);
+                setPart = candidate;
+                return queryPart.substring(matcher.end());
+            }
+            catch (MethodExpressionException e)
+            {
+                failure = e;
+            }
+        }
+        throw failure != null ? failure : new MethodExpressionException(repo.getRepositoryClass(), method);
+    }
+
+    private boolean isBulkQuery()
+    {
+        return methodPrefix.isDelete() || methodPrefix.isUpdate();
+    }
+
     private Set<Class<? extends QueryPart>> excludedForWhereCheck()
     {
         Set<Class<? extends QueryPart>> excluded = new HashSet<Class<? extends QueryPart>>();
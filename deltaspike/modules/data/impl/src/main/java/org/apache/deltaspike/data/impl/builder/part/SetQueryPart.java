@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.part;
+
+import static org.apache.deltaspike.data.impl.util.QueryUtils.splitByKeyword;
+import static org.apache.deltaspike.data.impl.util.QueryUtils.uncapitalize;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.builder.QueryBuilderContext;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
+
+/**
+ * The attributes assigned by a bulk update method expression.
+ */
+class SetQueryPart extends BasePropertyQueryPart
+{
+
+    private final List<String> names = new LinkedList<String>();
+
+    @Override
+    protected QueryPart build(String queryPart, String method, RepositoryComponent repo)
+    {
+        for (String attribute : splitByKeyword(queryPart, "And"))
+        {
+            String name = uncapitalize(attribute);
+            validate(name, method, repo);
+            names.add(rewriteSeparator(name));
+        }
+        return this;
+    }
+
+    @Override
+    protected QueryPart buildQuery(QueryBuilderContext ctx)
+    {
+        boolean first = true;
+        for (String name : names)
+        {
+            if (!first)
+            {
+                ctx.append(", ");
+            }
+            ctx.append(QueryBuilder.ENTITY_NAME + "." + name + " = ?" + ctx.increment());
+            first = false;
+        }
+        return this;
+    }
+
+}
@@ -23,6 +23,7 @@ import static org.apache.deltaspike.data.impl.util.QueryUtils.nullSafeValue;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import javax.persistence.Query;
 
@@ -36,6 +37,10 @@ public class CountQueryPostProcessor implements JpaQueryPostProcessor
 
     private static final Logger log = Logger.getLogger(CountQueryPostProcessor.class.getName());
 
+    // fetch joins are not allowed in count queries and don't change the count
+    private static final Pattern FETCH_JOIN = Pattern.compile(
+            "\\s+(left\\s+(outer\\s+)?|inner\\s+)?join\\s+fetch\\s+[\\w.]+", Pattern.CASE_INSENSITIVE);
+
     private final QueryStringExtractorFactory factory = new QueryStringExtractorFactory();
 
     @Override
@@ -78,6 +83,7 @@ public class CountQueryPostProcessor implements JpaQueryPostProcessor
         public String rewriteToCount()
         {
             splitQuery();
+            from = FETCH_JOIN.matcher(from).replaceAll("");
             extractEntityName();
             return rewrite();
         }
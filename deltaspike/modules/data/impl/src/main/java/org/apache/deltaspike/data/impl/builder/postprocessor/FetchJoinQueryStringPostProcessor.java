@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import java.util.regex.Pattern;
+
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+
+/**
+ * Adds a fetch join to the end of the from clause of the query, joining the attribute
+ * of the first entity in the from clause.
+ */
+public class FetchJoinQueryStringPostProcessor implements QueryStringPostProcessor
+{
+
+    private static final Pattern SELECT =
+            Pattern.compile("^\\s*select\\s+(?!distinct\\s)", Pattern.CASE_INSENSITIVE);
+
+    private final String attribute;
+    private final boolean distinct;
+
+    public FetchJoinQueryStringPostProcessor(String attribute, boolean distinct)
+    {
+        this.attribute = attribute;
+        this.distinct = distinct;
+    }
+
+    @Override
+    public String postProcess(String queryString)
+    {
+        JpqlClauses clauses = JpqlClauses.parse(queryString);
+        String fromClause = queryString.substring(0, clauses.fromClauseEnd());
+        String rest = queryString.substring(clauses.fromClauseEnd());
+        StringBuilder builder = new StringBuilder(fromClause.trim())
+                .append(QueryBuilder.fetchJoin(clauses.getRootAlias(), attribute));
+        if (rest.length() > 0)
+        {
+            builder.append(' ').append(rest);
+        }
+        if (distinct)
+        {
+            return SELECT.matcher(builder).replaceFirst("select distinct ");
+        }
+        return builder.toString();
+    }
+
+    public String getAttribute()
+    {
+        return attribute;
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locates the top level clauses of a JPQL select statement, for post processors which have to
+ * modify a query string. Keywords are matched case insensitive and separated by any whitespace.
+ * Subqueries in parentheses and string literals are skipped.
+ */
+final class JpqlClauses
+{
+
+    private static final Pattern ROOT =
+            Pattern.compile("\\s*[\\w.$]+\\s+(?:as\\s+)?([A-Za-z_$][\\w$]*)", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> NO_ALIAS = new HashSet<String>(Arrays.asList(
+            "where", "group", "having", "order", "join", "left", "inner", "outer", "fetch"));
+
+    private final String query;
+
+    private int from = -1;
+    private int where = -1;
+    private int groupBy = -1;
+    private int having = -1;
+    private int orderBy = -1;
+
+    private JpqlClauses(String query)
+    {
+        this.query = query;
+    }
+
+    static JpqlClauses parse(String query)
+    {
+        JpqlClauses result = new JpqlClauses(query);
+        result.scan();
+        return result;
+    }
+
+    /**
+     * @return The identification variable of the first entity in the from clause.
+     * @throws IllegalStateException if the query has no from clause with an alias.
+     */
+    String getRootAlias()
+    {
+        String alias = findRootAlias();
+        if (alias == null)
+        {
+            throw new IllegalStateException("Unable to determine the alias of the queried entity in " + query);
+        }
+        return alias;
+    }
+
+    /**
+     * @return The identification variable of the first entity in the from clause, or {@code null}.
+     */
+    String findRootAlias()
+    {
+        if (from >= 0)
+        {
+            Matcher matcher = ROOT.matcher(query);
+            matcher.region(from + "from".length(), fromClauseEnd());
+            if (matcher.lookingAt() && !NO_ALIAS.contains(matcher.group(1).toLowerCase(Locale.ENGLISH)))
+            {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The index after the last join of the from clause.
+     */
+    int fromClauseEnd()
+    {
+        return firstOf(where, groupBy, having, orderBy, query.length());
+    }
+
+    /**
+     * @return The index after the conditions of the where clause, or where it would end.
+     */
+    int whereClauseEnd()
+    {
+        return firstOf(groupBy, having, orderBy, query.length());
+    }
+
+    int getWhere()
+    {
+        return where;
+    }
+
+    boolean hasWhere()
+    {
+        return where >= 0;
+    }
+
+    boolean hasOrderBy()
+    {
+        return orderBy >= 0;
+    }
+
+    boolean hasGroupByOrHaving()
+    {
+        return groupBy >= 0 || having >= 0;
+    }
+
+    private void scan()
+    {
+        int depth = 0;
+        boolean literal = false;
+        for (int i = 0; i < query.length(); i++)
+        {
+            char c = query.charAt(i);
+            if (literal)
+            {
+                // '' is an escaped quote, which just toggles twice
+                literal = c != '\'';
+                continue;
+            }
+            if (c == '\'')
+            {
+                literal = true;
+            }
+            else if (c == '(')
+            {
+                depth++;
+            }
+            else if (c == ')')
+            {
+                depth--;
+            }
+            else if (depth == 0 && isWordStart(i))
+            {
+                match(i);
+            }
+        }
+    }
+
+    private void match(int index)
+    {
+        if (from < 0 && isKeyword(index, "from"))
+        {
+            from = index;
+        }
+        else if (from < 0)
+        {
+            return;
+        }
+        else if (where < 0 && isKeyword(index, "where"))
+        {
+            where = index;
+        }
+        else if (groupBy < 0 && isKeyword(index, "group") && followedByBy(index + "group".length()))
+        {
+            groupBy = index;
+        }
+        else if (having < 0 && isKeyword(index, "having"))
+        {
+            having = index;
+        }
+        else if (orderBy < 0 && isKeyword(index, "order") && followedByBy(index + "order".length()))
+        {
+            orderBy = index;
+        }
+    }
+
+    private boolean isWordStart(int index)
+    {
+        if (index == 0)
+        {
+            return true;
+        }
+        char previous = query.charAt(index - 1);
+        return Character.isWhitespace(previous) || previous == ')';
+    }
+
+    private boolean isKeyword(int index, String keyword)
+    {
+        int end = index + keyword.length();
+        return query.regionMatches(true, index, keyword, 0, keyword.length())
+                && (end == query.length() || Character.isWhitespace(query.charAt(end)) || query.charAt(end) == '(');
+    }
+
+    private boolean followedByBy(int index)
+    {
+        int i = index;
+        while (i < query.length() && Character.isWhitespace(query.charAt(i)))
+        {
+            i++;
+        }
+        return i > index && isKeyword(i, "by");
+    }
+
+    private static int firstOf(int... indexes)
+    {
+        for (int index : indexes)
+        {
+            if (index >= 0)
+            {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+}
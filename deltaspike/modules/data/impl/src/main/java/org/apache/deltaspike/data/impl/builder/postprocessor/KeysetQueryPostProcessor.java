@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.Query;
+
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+
+/**
+ * Restricts a query to the rows following a given key (keyset or seek pagination). The key
+ * contains the values of the last seen row for the order attributes of the query result, in the
+ * sequence the orderings were added. Rewrites the query string and binds the key values, so it
+ * has to be registered both as query string and as JPA query post processor.
+ * <p>
+ * Queries with GROUP BY or HAVING are not supported, key values must not be null.
+ */
+public class KeysetQueryPostProcessor implements QueryStringPostProcessor, JpaQueryPostProcessor
+{
+
+    private static final Pattern POSITIONAL_PARAMETER = Pattern.compile("\\?(\\d+)");
+    private static final String NAMED_PARAMETER = "keyset";
+
+    private final List<QueryStringPostProcessor> postProcessors;
+    private final Object[] key;
+
+    private int firstPosition;
+
+    public KeysetQueryPostProcessor(List<QueryStringPostProcessor> postProcessors, Object[] key)
+    {
+        for (int i = 0; i < key.length; i++)
+        {
+            if (key[i] == null)
+            {
+                // a comparison with null never matches, the page would silently be empty
+                throw new IllegalArgumentException("Keyset value " + i + " is null, "
+                        + "keyset pagination requires non null values for all order attributes");
+            }
+        }
+        this.postProcessors = postProcessors;
+        this.key = key;
+    }
+
+    @Override
+    public String postProcess(String queryString)
+    {
+        List<OrderByQueryStringPostProcessor> orderings = extractOrderings();
+        if (orderings.size() != key.length)
+        {
+            throw new IllegalStateException("Keyset pagination requires a value for each of the "
+                    + orderings.size() + " order attributes, got " + key.length);
+        }
+        JpqlClauses clauses = JpqlClauses.parse(queryString);
+        if (clauses.hasGroupByOrHaving())
+        {
+            throw new IllegalStateException("Keyset pagination is not supported for queries with "
+                    + "GROUP BY or HAVING: " + queryString);
+        }
+        String alias = clauses.getRootAlias();
+        firstPosition = nextPositionalParameter(queryString);
+
+        int end = clauses.whereClauseEnd();
+        StringBuilder builder = new StringBuilder(queryString.length() + 64);
+        if (clauses.hasWhere())
+        {
+            int conditionStart = clauses.getWhere() + "where".length();
+            builder.append(queryString, 0, conditionStart)
+                    .append(" (").append(queryString.substring(conditionStart, end).trim()).append(") and ");
+        }
+        else
+        {
+            builder.append(queryString.substring(0, end).trim()).append(" where ");
+        }
+        appendKeyCondition(builder, orderings, alias);
+        if (end < queryString.length())
+        {
+            builder.append(" ").append(queryString, end, queryString.length());
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public Query postProcess(CdiQueryInvocationContext context, Query query)
+    {
+        for (int i = 0; i < key.length; i++)
+        {
+            if (firstPosition > 0)
+            {
+                query.setParameter(firstPosition + i, key[i]);
+            }
+            else
+            {
+                query.setParameter(NAMED_PARAMETER + i, key[i]);
+            }
+        }
+        return query;
+    }
+
+    private List<OrderByQueryStringPostProcessor> extractOrderings()
+    {
+        List<OrderByQueryStringPostProcessor> result = new ArrayList<OrderByQueryStringPostProcessor>();
+        for (QueryStringPostProcessor processor : postProcessors)
+        {
+            if (processor instanceof OrderByQueryStringPostProcessor)
+            {
+                result.add((OrderByQueryStringPostProcessor) processor);
+            }
+        }
+        return result;
+    }
+
+    // (a > :k0) or (a = :k0 and b > :k1) or ...
+    private void appendKeyCondition(StringBuilder builder, List<OrderByQueryStringPostProcessor> orderings,
+            String alias)
+    {
+        builder.append("(");
+        for (int i = 0; i < orderings.size(); i++)
+        {
+            if (i > 0)
+            {
+                builder.append(" or ");
+            }
+            builder.append("(");
+            for (int j = 0; j < i; j++)
+            {
+                appendComparison(builder, alias, orderings.get(j), "=", j).append(" and ");
+            }
+            OrderByQueryStringPostProcessor ordering = orderings.get(i);
+            appendComparison(builder, alias, ordering, ordering.getDirection() == OrderDirection.ASC ? ">" : "<",
+                    i);
+            builder.append(")");
+        }
+        builder.append(")");
+    }
+
+    private StringBuilder appendComparison(StringBuilder builder, String alias,
+            OrderByQueryStringPostProcessor ordering, String operator, int index)
+    {
+        builder.append(alias).append(".").append(ordering.getAttribute())
+                .append(" ").append(operator).append(" ");
+        if (firstPosition > 0)
+        {
+            return builder.append("?").append(firstPosition + index);
+        }
+        return builder.append(":").append(NAMED_PARAMETER).append(index);
+    }
+
+    private static int nextPositionalParameter(String queryString)
+    {
+        int max = 0;
+        Matcher matcher = POSITIONAL_PARAMETER.matcher(queryString);
+        while (matcher.find())
+        {
+            max = Math.max(max, Integer.parseInt(matcher.group(1)));
+        }
+        return max > 0 ? max + 1 : 0;
+    }
+
+}
@@ -27,8 +27,6 @@ import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
 public class OrderByQueryStringPostProcessor implements QueryStringPostProcessor
 {
 
-    private static final String ORDER_BY = " order by ";
-
     private final String attribute;
     private OrderDirection direction;
 
@@ -47,16 +45,18 @@ public class OrderByQueryStringPostProcessor implements QueryStringPostProcessor
     @Override
     public String postProcess(String queryString)
     {
+        JpqlClauses clauses = JpqlClauses.parse(queryString);
+        String alias = clauses.findRootAlias();
         StringBuilder builder = new StringBuilder(queryString);
-        if (queryString.contains(ORDER_BY))
+        if (clauses.hasOrderBy())
         {
             builder.append(",");
         }
         else
         {
-            builder.append(ORDER_BY);
+            builder.append(" order by ");
         }
-        return builder.append(QueryBuilder.ENTITY_NAME)
+        return builder.append(alias != null ? alias : QueryBuilder.ENTITY_NAME)
                 .append(".").append(attribute)
                 .append(" ").append(direction)
                 .toString();
@@ -77,4 +77,14 @@ public class OrderByQueryStringPostProcessor implements QueryStringPostProcessor
         direction = direction.change();
     }
 
+    public String getAttribute()
+    {
+        return attribute;
+    }
+
+    public OrderDirection getDirection()
+    {
+        return direction;
+    }
+
 }
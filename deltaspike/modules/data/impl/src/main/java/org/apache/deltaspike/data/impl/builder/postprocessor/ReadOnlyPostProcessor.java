@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import javax.persistence.FlushModeType;
+import javax.persistence.Query;
+
+import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
+
+/**
+ * Executes the query without flushing pending changes and advises the persistence provider
+ * not to track the results for dirty checking. Providers ignore hints they don't know.
+ */
+public class ReadOnlyPostProcessor implements JpaQueryPostProcessor
+{
+
+    public static final ReadOnlyPostProcessor INSTANCE = new ReadOnlyPostProcessor();
+
+    private static final String HIBERNATE_READ_ONLY = "org.hibernate.readOnly";
+    private static final String ECLIPSELINK_READ_ONLY = "eclipselink.read-only";
+
+    @Override
+    public Query postProcess(CdiQueryInvocationContext context, Query query)
+    {
+        query.setHint(HIBERNATE_READ_ONLY, Boolean.TRUE);
+        query.setHint(ECLIPSELINK_READ_ONLY, Boolean.TRUE);
+        query.setFlushMode(FlushModeType.COMMIT);
+        return query;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.result;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Iterates over a query result by fetching it in chunks with first / max result paging.
+ * Respects the first and max result already set on the query.
+ * <p>
+ * The first chunk is fetched on creation, i.e. still within the repository invocation. All further
+ * chunks are fetched with the EntityManager of the invocation, so the iterator has to be consumed
+ * while this EntityManager is open, and within the transaction if the query needs one.
+ */
+public class ChunkedResultIterator<E> implements Iterator<E>
+{
+
+    private final Query query;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    private boolean detachChunks;
+    private int nextFirstResult;
+    private int remaining;
+
+    private List<E> chunk = Collections.emptyList();
+    private int index;
+    private boolean exhausted;
+
+    public ChunkedResultIterator(Query query, EntityManager entityManager, int chunkSize, boolean detachChunks)
+    {
+        if (chunkSize < 1)
+        {
+            throw new IllegalArgumentException("Chunk size must be positive, was " + chunkSize);
+        }
+        this.query = query;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+        this.detachChunks = detachChunks;
+        this.nextFirstResult = query.getFirstResult();
+        this.remaining = query.getMaxResults();
+        fetchNextChunk();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (index < chunk.size())
+        {
+            return true;
+        }
+        if (exhausted)
+        {
+            return false;
+        }
+        fetchNextChunk();
+        return index < chunk.size();
+    }
+
+    @Override
+    public E next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        return chunk.get(index++);
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException("Query results are read-only");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fetchNextChunk()
+    {
+        if (!entityManager.isOpen())
+        {
+            throw new IllegalStateException("The EntityManager of the streamed query result was closed. " +
+                    "Iterators returned by repository methods have to be consumed within the scope " +
+                    "of the EntityManager and transaction of the invocation.");
+        }
+        detachChunk();
+        int max = Math.min(chunkSize, remaining);
+        query.setFirstResult(nextFirstResult);
+        query.setMaxResults(max);
+        chunk = query.getResultList();
+        index = 0;
+        nextFirstResult += chunk.size();
+        remaining -= chunk.size();
+        exhausted = chunk.size() < max || remaining <= 0;
+    }
+
+    private void detachChunk()
+    {
+        if (!detachChunks)
+        {
+            return;
+        }
+        for (E element : chunk)
+        {
+            try
+            {
+                entityManager.detach(element);
+            }
+            catch (IllegalArgumentException e)
+            {
+                // not an entity, e.g. a scalar or projection result
+                detachChunks = false;
+                return;
+            }
+        }
+    }
+
+}
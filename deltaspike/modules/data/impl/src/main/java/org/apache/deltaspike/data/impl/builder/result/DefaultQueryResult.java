@@ -20,25 +20,34 @@ package org.apache.deltaspike.data.impl.builder.result;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.impl.builder.OrderDirection;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.builder.postprocessor.CountQueryPostProcessor;
+import org.apache.deltaspike.data.impl.builder.postprocessor.FetchJoinQueryStringPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.FirstResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.FlushModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.HintPostProcessor;
+import org.apache.deltaspike.data.impl.builder.postprocessor.KeysetQueryPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.LockModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.MaxResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.OrderByQueryStringPostProcessor;
+import org.apache.deltaspike.data.impl.builder.postprocessor.ReadOnlyPostProcessor;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.QueryResultCache;
 import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+import org.apache.deltaspike.data.impl.util.EntityUtils;
+import org.apache.deltaspike.data.spi.ApproximateCountProvider;
 
 public class DefaultQueryResult<T> implements QueryResult<T>
 {
@@ -46,9 +55,14 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     private final QueryBuilder builder;
     private final CdiQueryInvocationContext context;
 
+    private KeysetQueryPostProcessor keyset;
     private int page = 0;
     private int pageSize = 10;
 
+    private Long count;
+    private long countTimeToLiveNanos;
+    private boolean approximateCount;
+
     public DefaultQueryResult(QueryBuilder builder, CdiQueryInvocationContext context)
     {
         this.builder = builder;
@@ -151,10 +165,24 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         return this;
     }
 
+    @Override
+    public QueryResult<T> seekAfter(Object... lastSeenKey)
+    {
+        removeKeyset();
+        keyset = null;
+        if (lastSeenKey != null && lastSeenKey.length > 0)
+        {
+            keyset = new KeysetQueryPostProcessor(context.getQueryStringPostProcessors(), lastSeenKey.clone());
+            addKeyset();
+        }
+        return this;
+    }
+
     @Override
     public QueryResult<T> lockMode(LockModeType lockMode)
     {
         context.addJpaQueryPostProcessor(new LockModePostProcessor(lockMode));
+        count = null;
         return this;
     }
 
@@ -162,6 +190,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     public QueryResult<T> flushMode(FlushModeType flushMode)
     {
         context.addJpaQueryPostProcessor(new FlushModePostProcessor(flushMode));
+        count = null;
         return this;
     }
 
@@ -169,6 +198,30 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     public QueryResult<T> hint(String hint, Object value)
     {
         context.addJpaQueryPostProcessor(new HintPostProcessor(hint, value));
+        count = null;
+        return this;
+    }
+
+    @Override
+    public QueryResult<T> readOnly()
+    {
+        context.addJpaQueryPostProcessor(ReadOnlyPostProcessor.INSTANCE);
+        return this;
+    }
+
+    @Override
+    public <X> QueryResult<T> fetch(Attribute<T, X> attribute)
+    {
+        context.addQueryStringPostProcessor(
+                new FetchJoinQueryStringPostProcessor(attribute.getName(), attribute.isCollection()));
+        return this;
+    }
+
+    @Override
+    public QueryResult<T> fetch(String attribute)
+    {
+        boolean collection = EntityUtils.isCollectionAttribute(context.getEntityClass(), attribute);
+        context.addQueryStringPostProcessor(new FetchJoinQueryStringPostProcessor(attribute, collection));
         return this;
     }
 
@@ -208,8 +261,75 @@ public class DefaultQueryResult<T> implements QueryResult<T>
 
     @Override
     public long count()
+    {
+        if (count == null)
+        {
+            count = lookupCount();
+        }
+        return count.longValue();
+    }
+
+    @Override
+    public QueryResult<T> cacheCount(long timeToLive, TimeUnit unit)
+    {
+        countTimeToLiveNanos = unit.toNanos(timeToLive);
+        return this;
+    }
+
+    @Override
+    public QueryResult<T> allowApproximateCount()
+    {
+        approximateCount = true;
+        count = null;
+        return this;
+    }
+
+    private Long lookupCount()
+    {
+        QueryResultCache cache = null;
+        if (countTimeToLiveNanos > 0)
+        {
+            cache = BeanProvider.getContextualReference(QueryResultCache.class);
+            // an exact count is also fine if an approximation is allowed, but not vice versa
+            Long cached = approximateCount ? cache.lookupCount(context.getRepositoryMethod(),
+                    context.getMethodParameters(), true) : null;
+            if (cached == null)
+            {
+                cached = cache.lookupCount(context.getRepositoryMethod(), context.getMethodParameters(), false);
+            }
+            if (cached != null)
+            {
+                return cached;
+            }
+        }
+        Long result = null;
+        if (approximateCount)
+        {
+            ApproximateCountProvider provider =
+                    BeanProvider.getContextualReference(ApproximateCountProvider.class, true);
+            if (provider != null)
+            {
+                result = provider.approximateCount(context);
+            }
+        }
+        boolean approximated = result != null;
+        if (result == null)
+        {
+            result = Long.valueOf(executeCount());
+        }
+        if (cache != null)
+        {
+            cache.storeCount(context.getRepositoryMethod(), context.getMethodParameters(), approximated,
+                    result.longValue(), countTimeToLiveNanos);
+        }
+        return result;
+    }
+
+    private long executeCount()
     {
         CountQueryPostProcessor counter = new CountQueryPostProcessor();
+        // the count covers the whole result, not just the rows after the keyset
+        removeKeyset();
         context.addJpaQueryPostProcessor(counter);
         try
         {
@@ -227,6 +347,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         finally
         {
             context.removeJpaQueryPostProcessor(counter);
+            addKeyset();
         }
     }
 
@@ -293,6 +414,24 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         return this;
     }
 
+    private void addKeyset()
+    {
+        if (keyset != null)
+        {
+            context.addQueryStringPostProcessor(keyset);
+            context.addJpaQueryPostProcessor(keyset);
+        }
+    }
+
+    private void removeKeyset()
+    {
+        if (keyset != null)
+        {
+            context.getQueryStringPostProcessors().remove(keyset);
+            context.removeJpaQueryPostProcessor(keyset);
+        }
+    }
+
     private abstract static class ChangeOrder
     {
 
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.result;
+
+import java.beans.Introspector;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.Entity;
+
+import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.property.query.NamedPropertyCriteria;
+import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
+
+/**
+ * Selects only the entity attributes a result type needs and maps the returned
+ * rows into the result type. Nothing is materialized in the persistence context.
+ * <ul>
+ * <li>Interfaces: every getter has to match an entity attribute, rows are exposed
+ * through a dynamic proxy.</li>
+ * <li>Classes with a public no-arg constructor: all writable properties matching an
+ * entity attribute are populated.</li>
+ * </ul>
+ */
+public final class Projection
+{
+
+    private final Class<?> type;
+    private final List<String> attributes;
+    private final Map<String, String> getters;
+    private final List<Property<Object>> properties;
+
+    private Projection(Class<?> type, List<String> attributes, Map<String, String> getters,
+            List<Property<Object>> properties)
+    {
+        this.type = type;
+        this.attributes = attributes;
+        this.getters = getters;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a projection of the repository entity into the given type.
+     *
+     * @return The projection, or {@code null} if the type is not a projection candidate.
+     */
+    public static Projection create(Class<?> type, RepositoryComponent repo, String method)
+    {
+        if (!isCandidate(type, repo.getEntityClass()))
+        {
+            return null;
+        }
+        if (type.isInterface())
+        {
+            return createInterfaceProjection(type, repo, method);
+        }
+        return createClassProjection(type, repo);
+    }
+
+    public String getSelection(String alias)
+    {
+        StringBuilder result = new StringBuilder();
+        for (String attribute : attributes)
+        {
+            if (result.length() > 0)
+            {
+                result.append(", ");
+            }
+            result.append(alias).append(".").append(attribute);
+        }
+        return result.toString();
+    }
+
+    public Class<?> getType()
+    {
+        return type;
+    }
+
+    /**
+     * Maps a query processor result - a list, an iterator or a single row - to the projection type.
+     */
+    @SuppressWarnings("unchecked")
+    public Object map(Object result)
+    {
+        if (result instanceof List)
+        {
+            List<Object> rows = (List<Object>) result;
+            List<Object> mapped = new ArrayList<Object>(rows.size());
+            for (Object row : rows)
+            {
+                mapped.add(mapRow(row));
+            }
+            return mapped;
+        }
+        if (result instanceof Iterator)
+        {
+            return new ProjectionIterator((Iterator<Object>) result);
+        }
+        return result == null ? null : mapRow(result);
+    }
+
+    Object mapRow(Object row)
+    {
+        // a single select item is not wrapped in an array
+        Object[] values = attributes.size() == 1 ? new Object[] { row } : (Object[]) row;
+        if (type.isInterface())
+        {
+            Map<String, Object> byAttribute = new HashMap<String, Object>(values.length * 2);
+            for (int i = 0; i < values.length; i++)
+            {
+                byAttribute.put(attributes.get(i), values[i]);
+            }
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                    new ProjectionHandler(byAttribute));
+        }
+        try
+        {
+            Object instance = type.newInstance();
+            for (int i = 0; i < values.length; i++)
+            {
+                properties.get(i).setValue(instance, values[i]);
+            }
+            return instance;
+        }
+        catch (InstantiationException e)
+        {
+            throw new IllegalStateException("Failed to instantiate projection " + type.getName(), e);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new IllegalStateException("Failed to instantiate projection " + type.getName(), e);
+        }
+    }
+
+    private static boolean isCandidate(Class<?> type, Class<?> entityClass)
+    {
+        if (type == null || type.isPrimitive() || type.isArray() || type.isEnum() ||
+                type.isAssignableFrom(entityClass) || entityClass.isAssignableFrom(type) ||
+                type.isAnnotationPresent(Entity.class) || type.getName().startsWith("java."))
+        {
+            return false;
+        }
+        if (type.isInterface())
+        {
+            return true;
+        }
+        if (Modifier.isAbstract(type.getModifiers()))
+        {
+            return false;
+        }
+        try
+        {
+            return Modifier.isPublic(type.getConstructor().getModifiers());
+        }
+        catch (NoSuchMethodException e)
+        {
+            return false;
+        }
+    }
+
+    private static Projection createInterfaceProjection(Class<?> type, RepositoryComponent repo, String method)
+    {
+        Map<String, String> getters = new HashMap<String, String>();
+        TreeMap<String, String> sorted = new TreeMap<String, String>();
+        for (Method getter : type.getMethods())
+        {
+            String attribute = attributeName(getter);
+            if (attribute == null)
+            {
+                throw new MethodExpressionException(getter.getName(), repo.getRepositoryClass(), method);
+            }
+            if (!hasAttribute(repo.getEntityClass(), attribute))
+            {
+                throw new MethodExpressionException(attribute, repo.getRepositoryClass(), method);
+            }
+            getters.put(getter.getName(), attribute);
+            sorted.put(attribute, attribute);
+        }
+        if (sorted.isEmpty())
+        {
+            return null;
+        }
+        List<String> attributes = Collections.unmodifiableList(new ArrayList<String>(sorted.keySet()));
+        return new Projection(type, attributes, getters, null);
+    }
+
+    private static Projection createClassProjection(Class<?> type, RepositoryComponent repo)
+    {
+        TreeMap<String, Property<Object>> sorted = new TreeMap<String, Property<Object>>();
+        for (Property<Object> property : PropertyQueries.<Object> createQuery(type).getWritableResultList())
+        {
+            if (Modifier.isStatic(property.getMember().getModifiers()))
+            {
+                continue;
+            }
+            if (!sorted.containsKey(property.getName()) && hasAttribute(repo.getEntityClass(), property.getName()))
+            {
+                sorted.put(property.getName(), property);
+            }
+        }
+        if (sorted.isEmpty())
+        {
+            return null;
+        }
+        List<String> attributes = Collections.unmodifiableList(new ArrayList<String>(sorted.keySet()));
+        List<Property<Object>> properties = new ArrayList<Property<Object>>(sorted.values());
+        return new Projection(type, attributes, null, properties);
+    }
+
+    private static String attributeName(Method getter)
+    {
+        if (getter.getParameterTypes().length > 0 || getter.getReturnType() == void.class)
+        {
+            return null;
+        }
+        String name = getter.getName();
+        if (name.startsWith("get") && name.length() > 3)
+        {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2 &&
+                (getter.getReturnType() == boolean.class || getter.getReturnType() == Boolean.class))
+        {
+            return Introspector.decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    private static boolean hasAttribute(Class<?> entityClass, String attribute)
+    {
+        return PropertyQueries.createQuery(entityClass)
+                .addCriteria(new NamedPropertyCriteria(attribute))
+                .getFirstResult() != null;
+    }
+
+    private final class ProjectionHandler implements InvocationHandler
+    {
+
+        private final Map<String, Object> values;
+
+        private ProjectionHandler(Map<String, Object> values)
+        {
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            String attribute = getters.get(method.getName());
+            if (attribute != null && method.getParameterTypes().length == 0)
+            {
+                return values.get(attribute);
+            }
+            if ("equals".equals(method.getName()) && args != null && args.length == 1)
+            {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(method.getName()) && args == null)
+            {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(method.getName()) && args == null)
+            {
+                return type.getSimpleName() + values;
+            }
+            throw new UnsupportedOperationException(method.toString());
+        }
+
+    }
+
+    private final class ProjectionIterator implements Iterator<Object>
+    {
+
+        private final Iterator<Object> delegate;
+
+        private ProjectionIterator(Iterator<Object> delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Object next()
+        {
+            return mapRow(delegate.next());
+        }
+
+        @Override
+        public void remove()
+        {
+            delegate.remove();
+        }
+
+    }
+
+}
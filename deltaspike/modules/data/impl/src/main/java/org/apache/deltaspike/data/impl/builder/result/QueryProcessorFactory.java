@@ -19,29 +19,38 @@
 package org.apache.deltaspike.data.impl.builder.result;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 
-import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.SingleResultType;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
 
 public final class QueryProcessorFactory
 {
 
-    private final Method method;
+    private final boolean modifying;
+    private final Class<?> resultType;
 
-    private QueryProcessorFactory(Method method)
+    private QueryProcessorFactory(Method method, boolean modifying)
     {
-        this.method = method;
+        this.modifying = modifying;
+        this.resultType = extractResultType(method);
     }
 
-    public static QueryProcessorFactory newInstance(Method method)
+    /**
+     * @param modifying         Whether the method executes an update or delete query.
+     */
+    public static QueryProcessorFactory newInstance(Method method, boolean modifying)
     {
-        return new QueryProcessorFactory(method);
+        return new QueryProcessorFactory(method, modifying);
     }
 
     public QueryProcessor build()
@@ -54,24 +63,49 @@ public final class QueryProcessorFactory
         {
             return new ListQueryProcessor();
         }
+        if (returns(Iterator.class))
+        {
+            return new IteratorQueryProcessor();
+        }
         if (isModifying())
         {
-            return new ExecuteUpdateQueryProcessor(returns(Void.TYPE));
+            return new ExecuteUpdateQueryProcessor(resultType);
         }
         return new SingleResultQueryProcessor();
     }
 
     private boolean isModifying()
     {
-        boolean matchesType = Void.TYPE.equals(method.getReturnType()) ||
-                int.class.equals(method.getReturnType()) ||
-                Integer.class.equals(method.getReturnType());
-        return method.isAnnotationPresent(Modifying.class) && matchesType;
+        boolean matchesType = Void.TYPE.equals(resultType) ||
+                Void.class.equals(resultType) ||
+                int.class.equals(resultType) ||
+                Integer.class.equals(resultType) ||
+                long.class.equals(resultType) ||
+                Long.class.equals(resultType);
+        return modifying && matchesType;
     }
 
     private boolean returns(Class<?> clazz)
     {
-        return method.getReturnType().isAssignableFrom(clazz);
+        return resultType.isAssignableFrom(clazz);
+    }
+
+    /**
+     * The type the query produces - for asynchronous methods the type argument of the returned Future.
+     */
+    private static Class<?> extractResultType(Method method)
+    {
+        if (!Future.class.equals(method.getReturnType()) ||
+                !(method.getGenericReturnType() instanceof ParameterizedType))
+        {
+            return method.getReturnType();
+        }
+        Type argument = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+        if (argument instanceof ParameterizedType)
+        {
+            argument = ((ParameterizedType) argument).getRawType();
+        }
+        return argument instanceof Class ? (Class<?>) argument : method.getReturnType();
     }
 
     private static final class ListQueryProcessor implements QueryProcessor
@@ -83,6 +117,17 @@ public final class QueryProcessorFactory
         }
     }
 
+    private static final class IteratorQueryProcessor implements QueryProcessor
+    {
+        @Override
+        public Object executeQuery(Query query, CdiQueryInvocationContext context)
+        {
+            RepositoryMethod repoMethod = context.getRepositoryMethod();
+            return new ChunkedResultIterator<Object>(query, context.getEntityManager(),
+                    repoMethod.getStreamingChunkSize(), repoMethod.isDetachStreamedChunks());
+        }
+    }
+
     private static final class NoOpQueryProcessor implements QueryProcessor
     {
         @Override
@@ -121,18 +166,22 @@ public final class QueryProcessorFactory
     private static final class ExecuteUpdateQueryProcessor implements QueryProcessor
     {
 
-        private final boolean returnsVoid;
+        private final Class<?> resultType;
 
-        private ExecuteUpdateQueryProcessor(boolean returnsVoid)
+        private ExecuteUpdateQueryProcessor(Class<?> resultType)
         {
-            this.returnsVoid = returnsVoid;
+            this.resultType = resultType;
         }
 
         @Override
         public Object executeQuery(Query query, CdiQueryInvocationContext context)
         {
             int result = query.executeUpdate();
-            if (!returnsVoid)
+            if (long.class.equals(resultType) || Long.class.equals(resultType))
+            {
+                return Long.valueOf(result);
+            }
+            if (int.class.equals(resultType) || Integer.class.equals(resultType))
             {
                 return result;
             }
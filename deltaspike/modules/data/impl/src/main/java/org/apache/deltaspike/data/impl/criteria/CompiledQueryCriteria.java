@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.criteria;
+
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+
+import org.apache.deltaspike.data.api.criteria.CompiledCriteria;
+
+/**
+ * Holds a criteria query built once by {@link QueryCriteria#compile()}. The EntityManager
+ * is resolved again for each created query, so an instance can outlive the one it was
+ * compiled with. Not thread safe, as the shared criteria query is passed to the EntityManager.
+ */
+public class CompiledQueryCriteria<R> implements CompiledCriteria<R>
+{
+
+    private final Provider<EntityManager> entityManagerProvider;
+    private final CriteriaQuery<?> query;
+
+    public CompiledQueryCriteria(Provider<EntityManager> entityManagerProvider, CriteriaQuery<?> query)
+    {
+        this.entityManagerProvider = entityManagerProvider;
+        this.query = query;
+    }
+
+    @Override
+    public TypedQuery<R> createQuery()
+    {
+        return createQuery(entityManagerProvider.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TypedQuery<R> createQuery(EntityManager entityManager)
+    {
+        return (TypedQuery<R>) entityManager.createQuery(query);
+    }
+
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.inject.Provider;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
@@ -43,7 +44,9 @@ import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SetAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.data.api.criteria.CompiledCriteria;
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.data.api.criteria.CriteriaParameter;
 import org.apache.deltaspike.data.api.criteria.QuerySelection;
 import org.apache.deltaspike.data.impl.builder.OrderDirection;
 import org.apache.deltaspike.data.impl.criteria.predicate.Between;
@@ -73,6 +76,7 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     private static final Logger log = Logger.getLogger(QueryCriteria.class.getName());
 
     private EntityManager entityManager;
+    private Provider<EntityManager> entityManagerProvider;
     private Class<C> entityClass;
     private Class<R> resultClass;
     private JoinType joinType;
@@ -89,8 +93,19 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     }
 
     public QueryCriteria(Class<C> entityClass, Class<R> resultClass, EntityManager entityManager, JoinType joinType)
+    {
+        this(entityClass, resultClass, entityManager, joinType, null);
+    }
+
+    /**
+     * @param entityManagerProvider Resolves the EntityManager for queries created from a
+     *        {@link #compile() compiled} criteria. Defaults to the given EntityManager if null.
+     */
+    public QueryCriteria(Class<C> entityClass, Class<R> resultClass, EntityManager entityManager, JoinType joinType,
+            Provider<EntityManager> entityManagerProvider)
     {
         this.entityManager = entityManager;
+        this.entityManagerProvider = entityManagerProvider;
         this.entityClass = entityClass;
         this.resultClass = resultClass;
         this.joinType = joinType;
@@ -133,7 +148,32 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public TypedQuery<R> createQuery()
+    {
+        return (TypedQuery<R>) entityManager.createQuery(buildCriteriaQuery());
+    }
+
+    @Override
+    public CompiledCriteria<R> compile()
+    {
+        Provider<EntityManager> provider = entityManagerProvider;
+        if (provider == null)
+        {
+            final EntityManager current = entityManager;
+            provider = new Provider<EntityManager>()
+            {
+                @Override
+                public EntityManager get()
+                {
+                    return current;
+                }
+            };
+        }
+        return new CompiledQueryCriteria<R>(provider, buildCriteriaQuery());
+    }
+
+    private CriteriaQuery<?> buildCriteriaQuery()
     {
         try
         {
@@ -151,7 +191,7 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
                 query.where(predicates.toArray(new Predicate[predicates.size()]));
             }
             applyProcessors(query, builder, root);
-            return (TypedQuery<R>) entityManager.createQuery(query);
+            return query;
         }
         catch (RuntimeException e)
         {
@@ -260,7 +300,8 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     @Override
     public <N> Criteria<C, N> select(Class<N> resultClass, QuerySelection<? super C, ?>... selection)
     {
-        QueryCriteria<C, N> result = new QueryCriteria<C, N>(entityClass, resultClass, entityManager, joinType);
+        QueryCriteria<C, N> result = new QueryCriteria<C, N>(entityClass, resultClass, entityManager, joinType,
+                entityManagerProvider);
         result.builders.addAll(this.builders);
         result.distinct = this.distinct;
         result.processors.addAll(this.processors);
@@ -458,4 +499,68 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
         return this;
     }
 
+    // --------------------------------------------------------------------
+    // Parameterized predicates
+    // --------------------------------------------------------------------
+
+    @Override
+    public <P> Criteria<C, R> eq(SingularAttribute<? super C, P> att, CriteriaParameter param)
+    {
+        add(new Eq<C, P>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P> Criteria<C, R> notEq(SingularAttribute<? super C, P> att, CriteriaParameter param)
+    {
+        add(new NotEq<C, P>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P> Criteria<C, R> like(SingularAttribute<? super C, String> att, CriteriaParameter param)
+    {
+        add(new Like<C>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P> Criteria<C, R> notLike(SingularAttribute<? super C, String> att, CriteriaParameter param)
+    {
+        add(new NotLike<C>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P extends Comparable<? super P>> Criteria<C, R> lt(SingularAttribute<? super C, P> att,
+            CriteriaParameter param)
+    {
+        add(new LessThan<C, P>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P extends Comparable<? super P>> Criteria<C, R> ltOrEq(SingularAttribute<? super C, P> att,
+            CriteriaParameter param)
+    {
+        add(new LessThanOrEqual<C, P>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P extends Comparable<? super P>> Criteria<C, R> gt(SingularAttribute<? super C, P> att,
+            CriteriaParameter param)
+    {
+        add(new GreaterThan<C, P>(att, param));
+        return this;
+    }
+
+    @Override
+    public <P extends Comparable<? super P>> Criteria<C, R> gtOrEq(SingularAttribute<? super C, P> att,
+            CriteriaParameter param)
+    {
+        add(new GreaterThanOrEqual<C, P>(att, param));
+        return this;
+    }
+
 }
@@ -26,6 +26,8 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.data.api.criteria.CriteriaParameter;
+
 public class LessThanOrEqual<E, V extends Comparable<? super V>> extends SingleValueBuilder<E, V>
 {
 
@@ -34,9 +36,18 @@ public class LessThanOrEqual<E, V extends Comparable<? super V>> extends SingleV
         super(att, value);
     }
 
+    public LessThanOrEqual(SingularAttribute<? super E, V> att, CriteriaParameter parameter)
+    {
+        super(att, parameter);
+    }
+
     @Override
     public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
     {
+        if (isParameter())
+        {
+            return Arrays.asList(builder.lessThanOrEqualTo(path.get(getAtt()), getParameter(builder)));
+        }
         return Arrays.asList(builder.lessThanOrEqualTo(path.get(getAtt()), getValue()));
     }
 
@@ -26,6 +26,8 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.data.api.criteria.CriteriaParameter;
+
 public class NotLike<E> extends SingleValueBuilder<E, String>
 {
 
@@ -34,9 +36,18 @@ public class NotLike<E> extends SingleValueBuilder<E, String>
         super(att, value);
     }
 
+    public NotLike(SingularAttribute<? super E, String> att, CriteriaParameter parameter)
+    {
+        super(att, parameter);
+    }
+
     @Override
     public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
     {
+        if (isParameter())
+        {
+            return Arrays.asList(builder.notLike(path.get(getAtt()), getParameter(builder)));
+        }
         return Arrays.asList(builder.notLike(path.get(getAtt()), getValue()));
     }
 
@@ -18,17 +18,40 @@
  */
 package org.apache.deltaspike.data.impl.criteria.predicate;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.data.api.criteria.CriteriaParameter;
+
 abstract class SingleValueBuilder<E, V> extends NoValueBuilder<E, V>
 {
 
     private final V value;
+    private final CriteriaParameter parameter;
 
     SingleValueBuilder(SingularAttribute<? super E, V> att, V value)
     {
         super(att);
         this.value = value;
+        this.parameter = null;
+    }
+
+    SingleValueBuilder(SingularAttribute<? super E, V> att, CriteriaParameter parameter)
+    {
+        super(att);
+        this.value = null;
+        this.parameter = parameter;
+    }
+
+    boolean isParameter()
+    {
+        return parameter != null;
+    }
+
+    Expression<V> getParameter(CriteriaBuilder builder)
+    {
+        return builder.parameter(getAtt().getJavaType(), parameter.getName());
     }
 
     V getValue()
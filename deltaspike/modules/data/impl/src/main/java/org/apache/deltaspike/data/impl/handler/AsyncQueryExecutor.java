@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
+
+/**
+ * Executes repository methods returning a {@link Future}. Uses the container managed executor
+ * bound to {@link DataBaseConfig.AsyncExecution#EXECUTOR_JNDI_NAME} if there is one, otherwise an own
+ * thread pool sized by {@link DataBaseConfig.AsyncExecution#THREAD_POOL_SIZE}. A different executor
+ * can be provided by specializing this bean.
+ */
+@ApplicationScoped
+public class AsyncQueryExecutor
+{
+
+    private static final Logger log = Logger.getLogger(AsyncQueryExecutor.class.getName());
+
+    private volatile ExecutorService executor;
+
+    // container managed executors must not be shut down by the application
+    private boolean ownExecutor;
+
+    public <T> Future<T> submit(Callable<T> task)
+    {
+        return getExecutor().submit(task);
+    }
+
+    protected ExecutorService createExecutor()
+    {
+        ExecutorService containerExecutor = lookupContainerExecutor();
+        if (containerExecutor != null)
+        {
+            return containerExecutor;
+        }
+        ownExecutor = true;
+        int poolSize = DataBaseConfig.AsyncExecution.THREAD_POOL_SIZE.getValue();
+        return Executors.newFixedThreadPool(poolSize, new AsyncQueryThreadFactory());
+    }
+
+    @PreDestroy
+    protected void shutdown()
+    {
+        if (executor != null && ownExecutor)
+        {
+            executor.shutdown();
+        }
+    }
+
+    private ExecutorService lookupContainerExecutor()
+    {
+        String jndiName = DataBaseConfig.AsyncExecution.EXECUTOR_JNDI_NAME.getValue();
+        if (jndiName == null || jndiName.trim().length() == 0)
+        {
+            return null;
+        }
+        try
+        {
+            Object result = new InitialContext().lookup(jndiName);
+            if (result instanceof ExecutorService)
+            {
+                return (ExecutorService) result;
+            }
+            log.log(Level.WARNING, "{0} is not an ExecutorService, using an own thread pool", jndiName);
+        }
+        catch (NamingException e)
+        {
+            log.log(Level.FINE, "No container managed executor found, using an own thread pool", e);
+        }
+        return null;
+    }
+
+    private ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            synchronized (this)
+            {
+                if (executor == null)
+                {
+                    executor = createExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static final class AsyncQueryThreadFactory implements ThreadFactory
+    {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, "deltaspike-data-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
@@ -53,7 +53,7 @@ public class CdiQueryInvocationContext implements QueryInvocationContext
     {
         this.entityManager = entityManager;
         this.args = args == null ? new Object[] {} : args;
-        this.params = Parameters.create(method, this.args);
+        this.params = repoMethod.getParameterBindingPlan().bind(this.args);
         this.proxy = proxy;
         this.method = method;
         this.repoMethod = repoMethod;
@@ -172,6 +172,17 @@ public class CdiQueryInvocationContext implements QueryInvocationContext
         cleanup.add(destroyable);
     }
 
+    /**
+     * Hands the registered destroyables over to the caller, e.g. for beans which are still used by a
+     * lazily evaluated result. They are not destroyed by {@link #cleanup()} anymore.
+     */
+    public List<Destroyable> takeDestroyables()
+    {
+        List<Destroyable> result = new LinkedList<Destroyable>(cleanup);
+        cleanup.clear();
+        return result;
+    }
+
     public void cleanup()
     {
         for (Destroyable destroy : cleanup)
@@ -23,6 +23,9 @@ import java.sql.Time;
 import java.sql.Timestamp;
 
 import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.metamodel.SingularAttribute;
 
@@ -47,27 +50,46 @@ import org.apache.deltaspike.data.impl.criteria.selection.strings.Upper;
 import org.apache.deltaspike.data.impl.criteria.selection.temporal.CurrentDate;
 import org.apache.deltaspike.data.impl.criteria.selection.temporal.CurrentTime;
 import org.apache.deltaspike.data.impl.criteria.selection.temporal.CurrentTimestamp;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
 
 @Dependent
 public class CriteriaSupportHandler<E> extends AbstractDelegateQueryHandler<E> implements CriteriaSupport<E>
 {
 
+    @Inject
+    private EntityManagerLookup entityManagerLookup;
+
     @Override
     public Criteria<E, E> criteria()
     {
-        return new QueryCriteria<E, E>(getEntityClass(), getEntityClass(), getEntityManager());
+        return new QueryCriteria<E, E>(getEntityClass(), getEntityClass(), getEntityManager(), null,
+                entityManagerProvider());
     }
 
     @Override
     public <T> Criteria<T, T> where(Class<T> clazz)
     {
-        return new QueryCriteria<T, T>(clazz, clazz, getEntityManager());
+        return new QueryCriteria<T, T>(clazz, clazz, getEntityManager(), null, entityManagerProvider());
     }
 
     @Override
     public <T> Criteria<T, T> where(Class<T> clazz, JoinType joinType)
     {
-        return new QueryCriteria<T, T>(clazz, clazz, getEntityManager(), joinType);
+        return new QueryCriteria<T, T>(clazz, clazz, getEntityManager(), joinType, entityManagerProvider());
+    }
+
+    private Provider<EntityManager> entityManagerProvider()
+    {
+        final EntityManagerLookup lookup = entityManagerLookup;
+        final RepositoryComponent repository = context.getRepositoryMethod().getRepository();
+        return new Provider<EntityManager>()
+        {
+            @Override
+            public EntityManager get()
+            {
+                return lookup.lookupFor(repository);
+            }
+        };
     }
 
     @Override
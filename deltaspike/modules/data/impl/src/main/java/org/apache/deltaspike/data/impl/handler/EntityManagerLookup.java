@@ -36,34 +36,51 @@ public class EntityManagerLookup
     @Any
     private Instance<EntityManager> entityManager;
 
+    private Instance<EntityManager> defaultEntityManager;
+
     public EntityManager lookupFor(final RepositoryComponent repository)
     {
         EntityManager result = null;
         if (repository.hasEntityManagerResolver())
         {
-            final Class<? extends EntityManagerResolver> emrc = repository.getEntityManagerResolverClass();
             if (!repository.isEntityManagerResolverIsNormalScope())
             {
-                final DependentProvider<? extends EntityManagerResolver> resolver = lookupResolver(emrc);
+                // dependent resolvers might hold state, so they are not reused
+                final DependentProvider<? extends EntityManagerResolver> resolver =
+                        lookupResolver(repository.getEntityManagerResolverClass());
                 result = resolver.get().resolveEntityManager();
                 resolver.destroy();
             }
             else
             {
-                result = BeanProvider.getContextualReference(emrc).resolveEntityManager();
+                result = repository.getEntityManagerResolverReference().resolveEntityManager();
             }
         }
         else
         {
-            result = entityManager.select(new DefaultLiteral()).get();
+            result = repository.getEntityManagerReference();
+            if (result == null)
+            {
+                result = defaultEntityManager().get();
+            }
         }
-        if (repository.hasEntityManagerFlushMode())
+        if (repository.hasEntityManagerFlushMode()
+                && result.getFlushMode() != repository.getEntityManagerFlushMode())
         {
             result.setFlushMode(repository.getEntityManagerFlushMode());
         }
         return result;
     }
 
+    private Instance<EntityManager> defaultEntityManager()
+    {
+        if (defaultEntityManager == null)
+        {
+            defaultEntityManager = entityManager.select(new DefaultLiteral());
+        }
+        return defaultEntityManager;
+    }
+
     private DependentProvider<? extends EntityManagerResolver> lookupResolver(
             Class<? extends EntityManagerResolver> resolverClass)
     {
@@ -36,6 +36,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.metamodel.SingularAttribute;
 
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.meta.RequiresTransaction;
 import org.apache.deltaspike.data.impl.property.Property;
@@ -59,16 +60,18 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     @Inject
     private QueryInvocationContext context;
 
+    @Inject
+    private QueryResultCache resultCache;
+
+    @Inject
+    private ExampleQueryCache exampleQueries;
+
     @Override
     @RequiresTransaction
     public E save(E entity)
     {
-        if (context.isNew(entity))
-        {
-            entityManager().persist(entity);
-            return entity;
-        }
-        return entityManager().merge(entity);
+        resultCache.invalidate(entityClass());
+        return persistOrMerge(entity);
     }
 
     @Override
@@ -89,6 +92,47 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         return result;
     }
 
+    @Override
+    @RequiresTransaction
+    public void saveAll(Iterable<E> entities)
+    {
+        saveAll(entities.iterator());
+    }
+
+    @Override
+    @RequiresTransaction
+    public void saveAll(Iterator<E> entities)
+    {
+        if (!entities.hasNext())
+        {
+            return;
+        }
+        // once for the whole batch operation, not per entity
+        resultCache.invalidate(entityClass());
+        int batchSize = batchSize();
+        int saved = 0;
+        List<E> batch = new ArrayList<E>(batchSize);
+        while (entities.hasNext())
+        {
+            E entity = entities.next();
+            // entities managed before the call are still used by the caller, they stay managed
+            boolean managed = entityManager().contains(entity);
+            E result = persistOrMerge(entity);
+            if (!managed)
+            {
+                batch.add(result);
+            }
+            if (++saved % batchSize == 0)
+            {
+                flushAndDetach(batch);
+            }
+        }
+        if (saved % batchSize != 0)
+        {
+            flushAndDetach(batch);
+        }
+    }
+
     @Override
     @RequiresTransaction
     public void refresh(E entity)
@@ -169,13 +213,37 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     @RequiresTransaction
     public void remove(E entity)
     {
+        resultCache.invalidate(entityClass());
         entityManager().remove(entity);
     }
 
+    @Override
+    @RequiresTransaction
+    public void removeAll(Iterable<E> entities)
+    {
+        resultCache.invalidate(entityClass());
+        int batchSize = batchSize();
+        int pending = 0;
+        for (E entity : entities)
+        {
+            entityManager().remove(entity);
+            if (++pending == batchSize)
+            {
+                flush();
+                pending = 0;
+            }
+        }
+        if (pending > 0)
+        {
+            flush();
+        }
+    }
+
     @Override
     @RequiresTransaction
     public void removeAndFlush(E entity)
     {
+        resultCache.invalidate(entityClass());
         entityManager().remove(entity);
         flush();
     }
@@ -212,6 +280,33 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     // PRIVATE
     // ----------------------------------------------------------------------------
 
+    private int batchSize()
+    {
+        Integer result = DataBaseConfig.BatchWrite.BATCH_SIZE.getValue();
+        return result != null && result > 0 ? result : 1;
+    }
+
+    private E persistOrMerge(E entity)
+    {
+        if (context.isNew(entity))
+        {
+            entityManager().persist(entity);
+            return entity;
+        }
+        return entityManager().merge(entity);
+    }
+
+    private void flushAndDetach(List<E> batch)
+    {
+        EntityManager entityManager = entityManager();
+        entityManager.flush();
+        for (E entity : batch)
+        {
+            entityManager.detach(entity);
+        }
+        batch.clear();
+    }
+
     private String allQuery()
     {
         return QueryBuilder.selectQuery(entityName(entityClass()));
@@ -234,7 +329,6 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     {
         for (Property<Object> property : properties)
         {
-            property.setAccessible();
             query.setParameter(property.getName(), transform(property.getValue(example), useLikeOperator));
         }
     }
@@ -290,6 +384,21 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         return properties;
     }
 
+    private ExampleQueryCache.ExampleQuery exampleQuery(boolean useLikeOperator, boolean count,
+            SingularAttribute<E, ?>... attributes)
+    {
+        List<String> names = extractPropertyNames(attributes);
+        ExampleQueryCache.ExampleQuery result = exampleQueries.lookup(entityClass(), names, useLikeOperator, count);
+        if (result == null)
+        {
+            List<Property<Object>> properties = extractProperties(attributes);
+            String jpqlQuery = exampleQuery(count ? countQuery() : allQuery(), properties, useLikeOperator);
+            log.log(Level.FINER, "findBy|findByLike|count: Created query {0}", jpqlQuery);
+            result = exampleQueries.store(entityClass(), names, useLikeOperator, count, jpqlQuery, properties);
+        }
+        return result;
+    }
+
     private List<E> executeExampleQuery(E example, int start, int max, boolean useLikeOperator,
             SingularAttribute<E, ?>... attributes)
     {
@@ -301,10 +410,8 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
             return findAll(start, max);
         }
 
-        List<Property<Object>> properties = extractProperties(attributes);
-        String jpqlQuery = exampleQuery(allQuery(), properties, useLikeOperator);
-        log.log(Level.FINER, "findBy|findByLike: Created query {0}", jpqlQuery);
-        TypedQuery<E> query = entityManager().createQuery(jpqlQuery, entityClass());
+        ExampleQueryCache.ExampleQuery exampleQuery = exampleQuery(useLikeOperator, false, attributes);
+        TypedQuery<E> query = entityManager().createQuery(exampleQuery.getJpqlQuery(), entityClass());
 
         // set starting position
         if (start > 0)
@@ -318,7 +425,7 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
             query.setMaxResults(max);
         }
 
-        addParameters(query, example, properties, useLikeOperator);
+        addParameters(query, example, exampleQuery.getProperties(), useLikeOperator);
         return query.getResultList();
     }
 
@@ -328,11 +435,9 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         {
             return count();
         }
-        List<Property<Object>> properties = extractProperties(attributes);
-        String jpqlQuery = exampleQuery(countQuery(), properties, useLikeOperator);
-        log.log(Level.FINER, "count: Created query {0}", jpqlQuery);
-        TypedQuery<Long> query = entityManager().createQuery(jpqlQuery, Long.class);
-        addParameters(query, example, properties, useLikeOperator);
+        ExampleQueryCache.ExampleQuery exampleQuery = exampleQuery(useLikeOperator, true, attributes);
+        TypedQuery<Long> query = entityManager().createQuery(exampleQuery.getJpqlQuery(), Long.class);
+        addParameters(query, example, exampleQuery.getProperties(), useLikeOperator);
         return query.getSingleResult();
     }
 
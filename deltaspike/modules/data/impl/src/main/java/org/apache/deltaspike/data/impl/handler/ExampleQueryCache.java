@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.deltaspike.data.impl.property.Property;
+
+/**
+ * Caches the JPQL and the resolved entity properties of query by example calls
+ * per entity type, attribute combination and query kind.
+ */
+@ApplicationScoped
+public class ExampleQueryCache
+{
+
+    private final ConcurrentMap<Key, ExampleQuery> queries = new ConcurrentHashMap<Key, ExampleQuery>();
+
+    public ExampleQuery lookup(Class<?> entityClass, List<String> attributes, boolean useLikeOperator, boolean count)
+    {
+        return queries.get(new Key(entityClass, attributes, useLikeOperator, count));
+    }
+
+    public ExampleQuery store(Class<?> entityClass, List<String> attributes, boolean useLikeOperator, boolean count,
+            String jpqlQuery, List<Property<Object>> properties)
+    {
+        for (Property<Object> property : properties)
+        {
+            property.setAccessible();
+        }
+        ExampleQuery result = new ExampleQuery(jpqlQuery, properties);
+        ExampleQuery existing = queries.putIfAbsent(new Key(entityClass, attributes, useLikeOperator, count), result);
+        return existing != null ? existing : result;
+    }
+
+    public static final class ExampleQuery
+    {
+        private final String jpqlQuery;
+        private final List<Property<Object>> properties;
+
+        private ExampleQuery(String jpqlQuery, List<Property<Object>> properties)
+        {
+            this.jpqlQuery = jpqlQuery;
+            this.properties = properties;
+        }
+
+        public String getJpqlQuery()
+        {
+            return jpqlQuery;
+        }
+
+        /**
+         * @return The example properties to bind, already made accessible.
+         */
+        public List<Property<Object>> getProperties()
+        {
+            return properties;
+        }
+    }
+
+    private static final class Key
+    {
+        private final Class<?> entityClass;
+        private final List<String> attributes;
+        private final boolean useLikeOperator;
+        private final boolean count;
+
+        private Key(Class<?> entityClass, List<String> attributes, boolean useLikeOperator, boolean count)
+        {
+            this.entityClass = entityClass;
+            this.attributes = attributes;
+            this.useLikeOperator = useLikeOperator;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) obj;
+            return entityClass.equals(other.entityClass) && attributes.equals(other.attributes)
+                    && useLikeOperator == other.useLikeOperator && count == other.count;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = entityClass.hashCode();
+            result = 31 * result + attributes.hashCode();
+            result = 31 * result + (useLikeOperator ? 1 : 0);
+            return 31 * result + (count ? 1 : 0);
+        }
+    }
+
+}
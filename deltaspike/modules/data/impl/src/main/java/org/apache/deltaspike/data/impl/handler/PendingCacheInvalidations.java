@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.jpa.api.transaction.TransactionScoped;
+
+/**
+ * Collects the entity types modified within a DeltaSpike transaction scope and completes
+ * their {@link QueryResultCache} invalidation once the scope ends, i.e. after the
+ * transaction got committed or rolled back.
+ */
+@TransactionScoped
+public class PendingCacheInvalidations
+{
+
+    private final Set<Class<?>> entityClasses = new HashSet<Class<?>>();
+
+    @Inject
+    private QueryResultCache resultCache;
+
+    /**
+     * @return {@code true} if the entity type was not modified before in this transaction.
+     */
+    public boolean add(Class<?> entityClass)
+    {
+        return entityClasses.add(entityClass);
+    }
+
+    @PreDestroy
+    protected void completeInvalidations()
+    {
+        for (Class<?> entityClass : entityClasses)
+        {
+            resultCache.completeInvalidation(entityClass);
+        }
+    }
+
+}
@@ -21,21 +21,22 @@ package org.apache.deltaspike.data.impl.handler;
 import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.List;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
+import javax.persistence.Query;
 
-import org.apache.deltaspike.core.api.lifecycle.Initialized;
-import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.data.api.QueryInvocationException;
+import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.Repository;
-import org.apache.deltaspike.data.impl.builder.QueryBuilder;
-import org.apache.deltaspike.data.impl.builder.QueryBuilderFactory;
 import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
-import org.apache.deltaspike.data.impl.meta.RepositoryComponents;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
 
 /**
@@ -50,11 +51,7 @@ public class QueryHandler implements Serializable, InvocationHandler
     private static final Logger log = Logger.getLogger(QueryHandler.class.getName());
 
     @Inject
-    private QueryBuilderFactory queryBuilder;
-
-    @Inject
-    @Initialized
-    private RepositoryComponents components;
+    private QueryInvocationPlanCache plans;
 
     @Inject
     private CdiQueryContextHolder context;
@@ -65,18 +62,61 @@ public class QueryHandler implements Serializable, InvocationHandler
     @Inject
     private QueryRunner runner;
 
+    @Inject
+    private QueryResultCache resultCache;
+
+    @Inject
+    private AsyncQueryExecutor asyncExecutor;
+
+    @Inject
+    private SlowQueryLog slowQueryLog;
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        QueryInvocationPlan plan = lookupPlan(proxy, method);
+        if (plan.getRepositoryMethod().isAsync())
+        {
+            return asyncExecutor.submit(new AsyncQueryInvocation(proxy, method, args, plan));
+        }
+        return process(proxy, method, args, plan);
+    }
+
+    private Object process(Object proxy, Method method, Object[] args, QueryInvocationPlan plan)
+        throws Throwable
     {
         CdiQueryInvocationContext queryContext = null;
+        boolean failed = true;
+        long resultSize = -1;
+        long start = System.nanoTime();
         try
         {
-            List<Class<?>> candidates = ProxyUtils.getProxyAndBaseTypes(proxy.getClass());
-            RepositoryComponent repo = components.lookupComponent(candidates);
-            RepositoryMethod repoMethod = components.lookupMethod(repo.getRepositoryClass(), method);
-            queryContext = createContext(proxy, method, args, repo, repoMethod);
-            QueryBuilder builder = queryBuilder.build(repoMethod, queryContext);
-            Object result = runner.executeQuery(builder, queryContext);
+            RepositoryMethod repoMethod = plan.getRepositoryMethod();
+            QueryResultCache.Lookup cached = null;
+            if (repoMethod.isQueryResultCached())
+            {
+                cached = resultCache.lookup(repoMethod, args);
+                if (cached.isHit() && cached.restore(entityManagerLookup.lookupFor(plan.getRepository())))
+                {
+                    Object result = cached.getResult();
+                    resultSize = resultSize(result, repoMethod);
+                    failed = false;
+                    return result;
+                }
+            }
+            queryContext = createContext(proxy, method, args, plan.getRepository(), repoMethod);
+            queryContext.initMapper();
+            Object result = runner.executeQuery(plan.getQueryBuilder(), queryContext);
+            if (cached != null)
+            {
+                cached.store(result, queryContext.getEntityManager());
+            }
+            else if (repoMethod.isModifying())
+            {
+                resultCache.invalidate(plan.getRepository().getEntityClass());
+            }
+            resultSize = resultSize(result, repoMethod);
+            failed = false;
             return result;
         }
         catch (PersistenceException e)
@@ -94,7 +134,47 @@ public class QueryHandler implements Serializable, InvocationHandler
         }
         finally
         {
-            context.dispose();
+            long duration = System.nanoTime() - start;
+            if (queryContext != null)
+            {
+                slowQueryLog.record(queryContext, duration);
+                context.dispose();
+            }
+            plan.getStatistic().record(duration, failed, resultSize);
+        }
+    }
+
+    /**
+     * @return the number of returned or modified entities, or -1 for lazily executed or pending results.
+     */
+    private static long resultSize(Object result, RepositoryMethod repoMethod)
+    {
+        if (result instanceof Collection)
+        {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Number && repoMethod.isModifying())
+        {
+            return ((Number) result).longValue();
+        }
+        if (result instanceof Iterator || result instanceof QueryResult || result instanceof Query
+                || result instanceof Future)
+        {
+            return -1;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private QueryInvocationPlan lookupPlan(Object proxy, Method method)
+    {
+        try
+        {
+            return plans.getPlan(proxy.getClass(), method);
+        }
+        catch (RuntimeException e)
+        {
+            log.log(Level.FINEST, "Query execution error", e);
+            throw new QueryInvocationException(e, proxy.getClass(), method);
         }
     }
 
@@ -104,8 +184,50 @@ public class QueryHandler implements Serializable, InvocationHandler
         CdiQueryInvocationContext queryContext = new CdiQueryInvocationContext(proxy, method, args, repoMethod,
                 entityManagerLookup.lookupFor(repo));
         context.set(queryContext);
-        queryContext.initMapper();
         return queryContext;
     }
 
+    /**
+     * Runs a repository method on the {@link AsyncQueryExecutor}. The query context and the
+     * EntityManager are created in the executing thread.
+     */
+    private final class AsyncQueryInvocation implements Callable<Object>
+    {
+
+        private final Object proxy;
+        private final Method method;
+        private final Object[] args;
+        private final QueryInvocationPlan plan;
+
+        private AsyncQueryInvocation(Object proxy, Method method, Object[] args, QueryInvocationPlan plan)
+        {
+            this.proxy = proxy;
+            this.method = method;
+            this.args = args;
+            this.plan = plan;
+        }
+
+        @Override
+        public Object call() throws Exception
+        {
+            try
+            {
+                return process(proxy, method, args, plan);
+            }
+            catch (Exception e)
+            {
+                throw e;
+            }
+            catch (Error e)
+            {
+                throw e;
+            }
+            catch (Throwable t)
+            {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.List;
+
+import org.apache.deltaspike.core.util.statistics.InvocationStatistic;
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.builder.result.QueryProcessor;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
+import org.apache.deltaspike.data.impl.util.bean.Destroyable;
+
+/**
+ * Immutable result of resolving a repository method invocation.
+ * Contains everything which doesn't depend on the actual invocation arguments,
+ * so it can be computed once per proxy class and method.
+ */
+public class QueryInvocationPlan
+{
+
+    private final RepositoryComponent repository;
+    private final RepositoryMethod repositoryMethod;
+    private final QueryBuilder queryBuilder;
+    private final InvocationStatistic statistic;
+    private final List<Destroyable> destroyables;
+
+    public QueryInvocationPlan(RepositoryComponent repository, RepositoryMethod repositoryMethod,
+            QueryBuilder queryBuilder, InvocationStatistic statistic, List<Destroyable> destroyables)
+    {
+        this.repository = repository;
+        this.repositoryMethod = repositoryMethod;
+        this.queryBuilder = queryBuilder;
+        this.statistic = statistic;
+        this.destroyables = destroyables;
+    }
+
+    public RepositoryComponent getRepository()
+    {
+        return repository;
+    }
+
+    public RepositoryMethod getRepositoryMethod()
+    {
+        return repositoryMethod;
+    }
+
+    public QueryBuilder getQueryBuilder()
+    {
+        return queryBuilder;
+    }
+
+    public InvocationStatistic getStatistic()
+    {
+        return statistic;
+    }
+
+    public QueryProcessor getQueryProcessor()
+    {
+        return repositoryMethod.getQueryProcessor();
+    }
+
+    /**
+     * Destroys the dependent beans of the plan, e.g. the query builder.
+     */
+    public void destroy()
+    {
+        for (Destroyable destroyable : destroyables)
+        {
+            destroyable.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.core.api.lifecycle.Initialized;
+import org.apache.deltaspike.core.util.ProxyUtils;
+import org.apache.deltaspike.core.util.statistics.RuntimeStatistics;
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.builder.QueryBuilderFactory;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
+import org.apache.deltaspike.data.impl.meta.RepositoryComponents;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
+import org.apache.deltaspike.data.impl.util.bean.Destroyable;
+
+/**
+ * Caches a {@link QueryInvocationPlan} per repository proxy class and invoked method.
+ * The dependent beans of the plans are destroyed together with the cache.
+ */
+@ApplicationScoped
+public class QueryInvocationPlanCache
+{
+
+    private final ConcurrentMap<PlanKey, QueryInvocationPlan> plans =
+            new ConcurrentHashMap<PlanKey, QueryInvocationPlan>();
+
+    @Inject
+    private QueryBuilderFactory queryBuilderFactory;
+
+    @Inject
+    @Initialized
+    private RepositoryComponents components;
+
+    public QueryInvocationPlan getPlan(Class<?> proxyClass, Method method)
+    {
+        PlanKey key = new PlanKey(proxyClass, method);
+        QueryInvocationPlan plan = plans.get(key);
+        if (plan == null)
+        {
+            // concurrent creation is fine - the plans are equivalent
+            plan = createPlan(proxyClass, method);
+            QueryInvocationPlan existing = plans.putIfAbsent(key, plan);
+            if (existing != null)
+            {
+                plan.destroy();
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    @PreDestroy
+    protected void destroyPlans()
+    {
+        for (QueryInvocationPlan plan : plans.values())
+        {
+            plan.destroy();
+        }
+        plans.clear();
+    }
+
+    private QueryInvocationPlan createPlan(Class<?> proxyClass, Method method)
+    {
+        List<Class<?>> candidates = ProxyUtils.getProxyAndBaseTypes(proxyClass);
+        RepositoryComponent repo = components.lookupComponent(candidates);
+        RepositoryMethod repoMethod = components.lookupMethod(repo.getRepositoryClass(), method);
+        List<Destroyable> destroyables = new ArrayList<Destroyable>(1);
+        QueryBuilder builder = queryBuilderFactory.build(repoMethod, destroyables);
+        return new QueryInvocationPlan(repo, repoMethod, builder,
+                RuntimeStatistics.getRepositoryMethodStatistic(statisticName(repo, method)), destroyables);
+    }
+
+    /**
+     * @return e.g. <code>com.acme.PersonRepository#findByName(String, int)</code>, unique also for overloaded methods
+     */
+    private static String statisticName(RepositoryComponent repo, Method method)
+    {
+        StringBuilder result = new StringBuilder(repo.getRepositoryClass().getName())
+                .append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            if (i > 0)
+            {
+                result.append(", ");
+            }
+            result.append(parameterTypes[i].getSimpleName());
+        }
+        return result.append(')').toString();
+    }
+
+    private static final class PlanKey
+    {
+        private final Class<?> proxyClass;
+        private final Method method;
+        private final int hashCode;
+
+        private PlanKey(Class<?> proxyClass, Method method)
+        {
+            this.proxyClass = proxyClass;
+            this.method = method;
+            this.hashCode = 31 * proxyClass.hashCode() + method.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof PlanKey))
+            {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            return proxyClass.equals(other.proxyClass) && method.equals(other.method);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+}
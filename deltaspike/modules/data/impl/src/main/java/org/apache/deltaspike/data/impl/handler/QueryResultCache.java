@@ -0,0 +1,721 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type.PersistenceType;
+
+import org.apache.deltaspike.core.api.provider.BeanProvider;
+import org.apache.deltaspike.data.api.QueryCache;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
+import org.apache.deltaspike.data.impl.util.EntityUtils;
+import org.apache.deltaspike.jpa.api.transaction.TransactionScoped;
+
+/**
+ * In-memory cache for results of repository methods annotated with {@link QueryCache}.
+ * Holds one bounded region per repository method. Entities are never shared between callers:
+ * only their type and id is cached, and they get loaded into the EntityManager of the caller
+ * on a hit, with one query per entity type. Other values are shared. Also keeps the counts of
+ * {@link org.apache.deltaspike.data.api.QueryResult}s which opted in to count caching.
+ * <p>
+ * Modifications invalidate the cache right away and again once the surrounding transaction
+ * completed. In between, no results are stored for the modified entity type, so neither
+ * uncommitted rows nor rows read before the commit end up in the cache.
+ */
+@ApplicationScoped
+public class QueryResultCache
+{
+
+    private static final int MAX_COUNT_ENTRIES = 1000;
+
+    // marks a restored result which references an entity that does not exist anymore
+    private static final Object REMOVED = new Object();
+
+    private final ConcurrentMap<RepositoryMethod, CacheRegion> regions =
+            new ConcurrentHashMap<RepositoryMethod, CacheRegion>();
+
+    private final ConcurrentMap<CountKey, CacheEntry> counts = new ConcurrentHashMap<CountKey, CacheEntry>();
+
+    // entity types modified by transactions which did not complete yet
+    private final ConcurrentMap<Class<?>, Integer> pending = new ConcurrentHashMap<Class<?>, Integer>();
+
+    @Inject
+    private BeanManager beanManager;
+
+    /**
+     * Looks up the cached result for the given invocation. On a miss, the returned lookup can be
+     * used to store the result once the query has been executed.
+     */
+    public Lookup lookup(RepositoryMethod method, Object[] args)
+    {
+        CacheRegion region = regions.get(method);
+        if (region == null)
+        {
+            region = new CacheRegion(method);
+            CacheRegion existing = regions.putIfAbsent(method, region);
+            if (existing != null)
+            {
+                region = existing;
+            }
+        }
+        return region.lookup(new CacheKey(args));
+    }
+
+    /**
+     * Looks up a cached count for the given invocation.
+     *
+     * @param approximate       Whether to look up a count estimated by an
+     *                          {@link org.apache.deltaspike.data.spi.ApproximateCountProvider}.
+     * @return                  The count, or {@code null} if none is cached or the entry expired.
+     */
+    public Long lookupCount(RepositoryMethod method, Object[] args, boolean approximate)
+    {
+        if (counts.isEmpty())
+        {
+            return null;
+        }
+        CountKey key = new CountKey(method, args, approximate);
+        CacheEntry entry = counts.get(key);
+        if (entry == null)
+        {
+            return null;
+        }
+        if (entry.expiresAt - System.nanoTime() <= 0)
+        {
+            counts.remove(key, entry);
+            return null;
+        }
+        return (Long) entry.value;
+    }
+
+    public void storeCount(RepositoryMethod method, Object[] args, boolean approximate, long count,
+            long timeToLiveNanos)
+    {
+        if (isPending(method))
+        {
+            return;
+        }
+        if (counts.size() >= MAX_COUNT_ENTRIES)
+        {
+            purgeExpiredCounts();
+        }
+        counts.put(new CountKey(method, args, approximate),
+                new CacheEntry(Long.valueOf(count), System.nanoTime() + timeToLiveNanos));
+    }
+
+    /**
+     * Drops all cached results of repositories for the given entity type. If a transaction is
+     * active, the results are dropped again after it completed.
+     */
+    public void invalidate(Class<?> entityClass)
+    {
+        if (regions.isEmpty() && counts.isEmpty())
+        {
+            return;
+        }
+        if (!deferToTransactionScope(entityClass))
+        {
+            beginInvalidation(entityClass);
+            // called after completion of a JTA transaction, or right away without one
+            beanManager.fireEvent(new Invalidation(entityClass));
+        }
+        clear(entityClass);
+    }
+
+    protected void onTransactionCompletion(
+            @Observes(during = TransactionPhase.AFTER_COMPLETION) Invalidation invalidation)
+    {
+        completeInvalidation(invalidation.entityClass);
+    }
+
+    void completeInvalidation(Class<?> entityClass)
+    {
+        clear(entityClass);
+        synchronized (pending)
+        {
+            Integer count = pending.get(entityClass);
+            if (count == null || count <= 1)
+            {
+                pending.remove(entityClass);
+            }
+            else
+            {
+                pending.put(entityClass, count - 1);
+            }
+        }
+    }
+
+    private void beginInvalidation(Class<?> entityClass)
+    {
+        synchronized (pending)
+        {
+            Integer count = pending.get(entityClass);
+            pending.put(entityClass, count == null ? 1 : count + 1);
+        }
+    }
+
+    /**
+     * Registers the invalidation with the DeltaSpike transaction scope, which ends after
+     * the commit or rollback of a {@link org.apache.deltaspike.jpa.api.transaction.Transactional}
+     * method - also for resource local transactions.
+     */
+    private boolean deferToTransactionScope(Class<?> entityClass)
+    {
+        try
+        {
+            if (!beanManager.getContext(TransactionScoped.class).isActive())
+            {
+                return false;
+            }
+        }
+        catch (ContextNotActiveException e)
+        {
+            return false;
+        }
+        if (BeanProvider.getContextualReference(PendingCacheInvalidations.class).add(entityClass))
+        {
+            beginInvalidation(entityClass);
+        }
+        return true;
+    }
+
+    private boolean isPending(RepositoryMethod method)
+    {
+        if (pending.isEmpty())
+        {
+            return false;
+        }
+        for (Class<?> modifiedClass : pending.keySet())
+        {
+            if (isFor(method, modifiedClass))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void clear(Class<?> entityClass)
+    {
+        for (CacheRegion region : regions.values())
+        {
+            if (region.isFor(entityClass))
+            {
+                region.clear();
+            }
+        }
+        for (Iterator<CountKey> it = counts.keySet().iterator(); it.hasNext();)
+        {
+            if (isFor(it.next().method, entityClass))
+            {
+                it.remove();
+            }
+        }
+    }
+
+    public void invalidateAll()
+    {
+        for (CacheRegion region : regions.values())
+        {
+            region.clear();
+        }
+        counts.clear();
+    }
+
+    private void purgeExpiredCounts()
+    {
+        long now = System.nanoTime();
+        for (Iterator<CacheEntry> it = counts.values().iterator(); it.hasNext();)
+        {
+            if (it.next().expiresAt - now <= 0)
+            {
+                it.remove();
+            }
+        }
+        if (counts.size() >= MAX_COUNT_ENTRIES)
+        {
+            // still full of live entries - start over rather than growing without bounds
+            counts.clear();
+        }
+    }
+
+    private static boolean isFor(RepositoryMethod method, Class<?> modifiedClass)
+    {
+        Class<?> entityClass = method.getRepository().getEntityClass();
+        return entityClass == null || entityClass.isAssignableFrom(modifiedClass)
+                || modifiedClass.isAssignableFrom(entityClass);
+    }
+
+    public static final class Lookup
+    {
+        private final CacheRegion region;
+        private final CacheKey key;
+        private final long generation;
+        private final CacheEntry entry;
+        private Object result;
+
+        private Lookup(CacheRegion region, CacheKey key, long generation, CacheEntry entry)
+        {
+            this.region = region;
+            this.key = key;
+            this.generation = generation;
+            this.entry = entry;
+        }
+
+        public boolean isHit()
+        {
+            return entry != null;
+        }
+
+        /**
+         * Loads the cached result into the given EntityManager.
+         *
+         * @return                  {@code false} if a cached entity does not exist anymore,
+         *                          in which case the query has to be executed again.
+         */
+        public boolean restore(EntityManager entityManager)
+        {
+            result = new Restorer(entityManager).restore(entry.value);
+            return result != REMOVED;
+        }
+
+        public Object getResult()
+        {
+            return result;
+        }
+
+        public void store(Object result, EntityManager entityManager)
+        {
+            region.put(key, generation, new Detacher(entityManager).detach(result));
+        }
+    }
+
+    /**
+     * Replaces the {@link EntityReference}s of a cached result by entities of the given
+     * EntityManager. All references of one entity type are loaded with a single query.
+     */
+    private static final class Restorer
+    {
+        // keeps IN lists below the limits of common databases
+        private static final int MAX_IDS_PER_QUERY = 500;
+
+        private final EntityManager entityManager;
+        private final Map<Class<?>, Map<Object, Object>> loaded = new HashMap<Class<?>, Map<Object, Object>>();
+
+        private Restorer(EntityManager entityManager)
+        {
+            this.entityManager = entityManager;
+        }
+
+        private Object restore(Object value)
+        {
+            Map<Class<?>, Set<Object>> ids = new HashMap<Class<?>, Set<Object>>();
+            collect(value, ids);
+            for (Map.Entry<Class<?>, Set<Object>> entry : ids.entrySet())
+            {
+                load(entry.getKey(), entry.getValue());
+            }
+            return resolve(value);
+        }
+
+        private void collect(Object value, Map<Class<?>, Set<Object>> ids)
+        {
+            if (value instanceof EntityReference)
+            {
+                EntityReference reference = (EntityReference) value;
+                Set<Object> entityIds = ids.get(reference.entityClass);
+                if (entityIds == null)
+                {
+                    entityIds = new LinkedHashSet<Object>();
+                    ids.put(reference.entityClass, entityIds);
+                }
+                entityIds.add(reference.id);
+            }
+            else if (value instanceof List)
+            {
+                for (Object element : (List<?>) value)
+                {
+                    collect(element, ids);
+                }
+            }
+            else if (value instanceof Object[])
+            {
+                for (Object element : (Object[]) value)
+                {
+                    collect(element, ids);
+                }
+            }
+        }
+
+        private void load(Class<?> entityClass, Set<Object> ids)
+        {
+            Map<Object, Object> entities = new HashMap<Object, Object>();
+            loaded.put(entityClass, entities);
+            String idAttribute = ids.size() > 1 ? basicIdAttribute(entityClass) : null;
+            if (idAttribute == null)
+            {
+                for (Object id : ids)
+                {
+                    Object entity = entityManager.find(entityClass, id);
+                    if (entity != null)
+                    {
+                        entities.put(id, entity);
+                    }
+                }
+                return;
+            }
+            PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+            String jpql = "select e from " + EntityUtils.entityName(entityClass) + " e where e." + idAttribute
+                    + " in :ids";
+            List<Object> allIds = new ArrayList<Object>(ids);
+            for (int i = 0; i < allIds.size(); i += MAX_IDS_PER_QUERY)
+            {
+                List<Object> chunk = allIds.subList(i, Math.min(allIds.size(), i + MAX_IDS_PER_QUERY));
+                // like find(), don't flush pending changes of the caller
+                List<?> result = entityManager.createQuery(jpql)
+                        .setFlushMode(FlushModeType.COMMIT)
+                        .setParameter("ids", chunk)
+                        .getResultList();
+                for (Object entity : result)
+                {
+                    entities.put(persistenceUnitUtil.getIdentifier(entity), entity);
+                }
+            }
+        }
+
+        /**
+         * @return The name of the id attribute, or {@code null} for composite or embedded ids,
+         *         which can't be compared with IN.
+         */
+        private String basicIdAttribute(Class<?> entityClass)
+        {
+            EntityType<?> type = entityManager.getMetamodel().entity(entityClass);
+            if (!type.hasSingleIdAttribute() || type.getIdType().getPersistenceType() != PersistenceType.BASIC)
+            {
+                return null;
+            }
+            for (SingularAttribute<?, ?> attribute : type.getSingularAttributes())
+            {
+                if (attribute.isId())
+                {
+                    return attribute.getName();
+                }
+            }
+            return null;
+        }
+
+        private Object resolve(Object value)
+        {
+            if (value instanceof EntityReference)
+            {
+                EntityReference reference = (EntityReference) value;
+                Object entity = loaded.get(reference.entityClass).get(reference.id);
+                return entity == null ? REMOVED : entity;
+            }
+            if (value instanceof List)
+            {
+                // callers might modify the returned list, so never hand out the cached instance
+                List<?> values = (List<?>) value;
+                List<Object> result = new ArrayList<Object>(values.size());
+                for (Object element : values)
+                {
+                    Object restored = resolve(element);
+                    if (restored == REMOVED)
+                    {
+                        return REMOVED;
+                    }
+                    result.add(restored);
+                }
+                return result;
+            }
+            if (value instanceof Object[])
+            {
+                Object[] values = (Object[]) value;
+                Object[] result = new Object[values.length];
+                for (int i = 0; i < values.length; i++)
+                {
+                    result[i] = resolve(values[i]);
+                    if (result[i] == REMOVED)
+                    {
+                        return REMOVED;
+                    }
+                }
+                return result;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Replaces managed entities in a query result by {@link EntityReference}s.
+     */
+    private static final class Detacher
+    {
+        private final EntityManager entityManager;
+        private PersistenceUnitUtil persistenceUnitUtil;
+        private Class<?> lastType;
+        private Class<?> lastEntityClass;
+
+        private Detacher(EntityManager entityManager)
+        {
+            this.entityManager = entityManager;
+        }
+
+        private Object detach(Object value)
+        {
+            if (value instanceof List)
+            {
+                List<?> values = (List<?>) value;
+                List<Object> result = new ArrayList<Object>(values.size());
+                for (Object element : values)
+                {
+                    result.add(detach(element));
+                }
+                return result;
+            }
+            if (value instanceof Object[])
+            {
+                Object[] values = (Object[]) value;
+                Object[] result = new Object[values.length];
+                for (int i = 0; i < values.length; i++)
+                {
+                    result[i] = detach(values[i]);
+                }
+                return result;
+            }
+            Class<?> entityClass = value == null ? null : entityClassOf(value.getClass());
+            if (entityClass == null)
+            {
+                return value;
+            }
+            if (persistenceUnitUtil == null)
+            {
+                persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+            }
+            return new EntityReference(entityClass, persistenceUnitUtil.getIdentifier(value));
+        }
+
+        private Class<?> entityClassOf(Class<?> type)
+        {
+            if (type == lastType)
+            {
+                return lastEntityClass;
+            }
+            Class<?> entityClass = null;
+            // walks up from provider generated subclasses, e.g. lazy loading proxies
+            for (Class<?> current = type; current != null && current != Object.class;
+                    current = current.getSuperclass())
+            {
+                if (EntityUtils.isEntityClass(current))
+                {
+                    entityClass = current;
+                    break;
+                }
+            }
+            lastType = type;
+            lastEntityClass = entityClass;
+            return entityClass;
+        }
+    }
+
+    private static final class EntityReference
+    {
+        private final Class<?> entityClass;
+        private final Object id;
+
+        private EntityReference(Class<?> entityClass, Object id)
+        {
+            this.entityClass = entityClass;
+            this.id = id;
+        }
+    }
+
+    private final class CacheRegion
+    {
+        private final RepositoryMethod method;
+        private final long timeToLiveNanos;
+        private final Map<CacheKey, CacheEntry> entries;
+
+        // incremented on each invalidation, so results of queries started before are not stored
+        private long generation;
+
+        private CacheRegion(RepositoryMethod method)
+        {
+            QueryCache config = method.getQueryCacheConfig();
+            final int maxEntries = config.maxEntries();
+            this.method = method;
+            this.timeToLiveNanos = config.timeUnit().toNanos(config.timeToLive());
+            this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true)
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest)
+                {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        private synchronized Lookup lookup(CacheKey key)
+        {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0)
+            {
+                entries.remove(key);
+                entry = null;
+            }
+            return new Lookup(this, key, generation, entry);
+        }
+
+        private synchronized void put(CacheKey key, long expectedGeneration, Object value)
+        {
+            if (generation == expectedGeneration && !isPending(method))
+            {
+                entries.put(key, new CacheEntry(value, System.nanoTime() + timeToLiveNanos));
+            }
+        }
+
+        private synchronized void clear()
+        {
+            generation++;
+            entries.clear();
+        }
+
+        private boolean isFor(Class<?> modifiedClass)
+        {
+            return QueryResultCache.isFor(method, modifiedClass);
+        }
+    }
+
+    /**
+     * Event fired on a modification, observed once the current transaction completed.
+     */
+    public static final class Invalidation
+    {
+        private final Class<?> entityClass;
+
+        private Invalidation(Class<?> entityClass)
+        {
+            this.entityClass = entityClass;
+        }
+    }
+
+    private static final class CacheEntry
+    {
+        private final Object value;
+        private final long expiresAt;
+
+        private CacheEntry(Object value, long expiresAt)
+        {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class CacheKey
+    {
+        private final Object[] args;
+        private final int hashCode;
+
+        private CacheKey(Object[] args)
+        {
+            this.args = args == null ? new Object[0] : args.clone();
+            this.hashCode = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof CacheKey))
+            {
+                return false;
+            }
+            return Arrays.deepEquals(args, ((CacheKey) o).args);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+    private static final class CountKey
+    {
+        private final RepositoryMethod method;
+        private final CacheKey args;
+        private final boolean approximate;
+
+        private CountKey(RepositoryMethod method, Object[] args, boolean approximate)
+        {
+            this.method = method;
+            this.args = new CacheKey(args);
+            this.approximate = approximate;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof CountKey))
+            {
+                return false;
+            }
+            CountKey other = (CountKey) o;
+            return approximate == other.approximate && method.equals(other.method) && args.equals(other.args);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * (31 * method.hashCode() + args.hashCode()) + (approximate ? 1 : 0);
+        }
+    }
+
+}
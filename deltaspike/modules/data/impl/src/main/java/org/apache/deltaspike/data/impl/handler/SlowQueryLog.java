@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import static org.apache.deltaspike.data.impl.util.QueryUtils.isNotEmpty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
+
+/**
+ * Logs repository method invocations running longer than
+ * {@link DataBaseConfig.Statistics#SLOW_QUERY_THRESHOLD_MS}, together with the
+ * executed query. Parameter values might contain personal data, they are only
+ * logged at level {@code FINE}.
+ */
+@ApplicationScoped
+public class SlowQueryLog
+{
+
+    private static final Logger log = Logger.getLogger(SlowQueryLog.class.getName());
+
+    private volatile Long thresholdNanos;
+
+    public void record(CdiQueryInvocationContext context, long durationNanos)
+    {
+        long threshold = getThresholdNanos();
+        if (threshold <= 0 || durationNanos < threshold || !log.isLoggable(Level.WARNING))
+        {
+            return;
+        }
+        String repository = context.getRepositoryClass().getName();
+        String method = context.getMethod().getName();
+        log.log(Level.WARNING, "Slow repository method {0}#{1} took {2} ms - query: {3}",
+                new Object[] { repository, method, TimeUnit.NANOSECONDS.toMillis(durationNanos), queryOf(context) });
+        if (log.isLoggable(Level.FINE))
+        {
+            log.log(Level.FINE, "Parameters of slow repository method {0}#{1}: {2}",
+                    new Object[] { repository, method, context.getParams() });
+        }
+    }
+
+    private long getThresholdNanos()
+    {
+        if (thresholdNanos == null)
+        {
+            int millis = DataBaseConfig.Statistics.SLOW_QUERY_THRESHOLD_MS.getValue();
+            thresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+        return thresholdNanos;
+    }
+
+    private String queryOf(CdiQueryInvocationContext context)
+    {
+        if (isNotEmpty(context.getQueryString()))
+        {
+            return context.getQueryString();
+        }
+        Query query = context.getMethod().getAnnotation(Query.class);
+        if (query != null)
+        {
+            return isNotEmpty(query.named()) ? query.named() : query.value();
+        }
+        return null;
+    }
+
+}
@@ -25,6 +25,9 @@ public class MethodPrefix
     public static final String DEFAULT_PREFIX = "findBy";
     public static final String DEFAULT_OPT_PREFIX = "findOptionalBy";
     public static final String DEFAULT_ANY_PREFIX = "findAnyBy";
+    public static final String DEFAULT_DELETE_PREFIX = "deleteBy";
+    public static final String DEFAULT_REMOVE_PREFIX = "removeBy";
+    public static final String DEFAULT_UPDATE_PREFIX = "update";
 
     private final String customPrefix;
     private final String methodName;
@@ -73,6 +76,32 @@ public class MethodPrefix
         return "";
     }
 
+    /**
+     * @return true for method expressions executing a bulk delete.
+     */
+    public boolean isDelete()
+    {
+        KnownQueryPrefix prefix = knownPrefix();
+        return prefix == KnownQueryPrefix.DELETE || prefix == KnownQueryPrefix.REMOVE;
+    }
+
+    /**
+     * @return true for method expressions executing a bulk update.
+     */
+    public boolean isUpdate()
+    {
+        return knownPrefix() == KnownQueryPrefix.UPDATE;
+    }
+
+    private KnownQueryPrefix knownPrefix()
+    {
+        if (hasCustomPrefix() && methodName.startsWith(customPrefix))
+        {
+            return null;
+        }
+        return KnownQueryPrefix.fromMethodName(methodName);
+    }
+
     public SingleResultType getSingleResultStyle()
     {
         KnownQueryPrefix prefix = KnownQueryPrefix.fromMethodName(methodName);
@@ -108,6 +137,30 @@ public class MethodPrefix
             {
                 return SingleResultType.ANY;
             }
+        },
+        DELETE(DEFAULT_DELETE_PREFIX)
+        {
+            @Override
+            public SingleResultType getStyle()
+            {
+                return SingleResultType.JPA;
+            }
+        },
+        REMOVE(DEFAULT_REMOVE_PREFIX)
+        {
+            @Override
+            public SingleResultType getStyle()
+            {
+                return SingleResultType.JPA;
+            }
+        },
+        UPDATE(DEFAULT_UPDATE_PREFIX)
+        {
+            @Override
+            public SingleResultType getStyle()
+            {
+                return SingleResultType.JPA;
+            }
         };
 
         private final String prefix;
@@ -23,6 +23,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -30,11 +31,15 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.persistence.EntityManager;
 import javax.persistence.FlushModeType;
 
+import org.apache.deltaspike.core.api.literal.DefaultLiteral;
 import org.apache.deltaspike.core.api.provider.BeanManagerProvider;
+import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.data.api.EntityManagerConfig;
 import org.apache.deltaspike.data.api.EntityManagerResolver;
 import org.apache.deltaspike.data.api.Repository;
@@ -55,13 +60,19 @@ public class RepositoryComponent
     private static final Logger log = Logger.getLogger(RepositoryComponent.class.getName());
 
     private volatile Boolean entityManagerResolverIsNormalScope;
+    private volatile boolean entityManagerIsNormalScope;
+
+    // contextual references of normal scoped beans are client proxies and can be shared
+    private volatile EntityManagerResolver entityManagerResolverReference;
+    private volatile EntityManager entityManagerReference;
 
     private final Class<?> repoClass;
     private final RepositoryEntity entityClass;
     private final Class<? extends EntityManagerResolver> entityManagerResolver;
     private final FlushModeType entityManagerFlushMode;
 
-    private final Map<Method, RepositoryMethod> methods = new HashMap<Method, RepositoryMethod>();
+    // filled once on construction, read without locking afterwards
+    private final Map<Method, RepositoryMethod> methods;
 
     public RepositoryComponent(Class<?> repoClass, RepositoryEntity entityClass)
     {
@@ -73,6 +84,7 @@ public class RepositoryComponent
         this.entityClass = entityClass;
         this.entityManagerResolver = extractEntityManagerResolver(repoClass);
         this.entityManagerFlushMode = extractEntityManagerFlushMode(repoClass);
+        this.methods = Collections.unmodifiableMap(collectMethods());
     }
 
     //don't trigger this lookup during ProcessAnnotatedType
@@ -90,7 +102,6 @@ public class RepositoryComponent
         {
             return;
         }
-        initialize();
         if (entityManagerResolver != null && beanManager != null)
         {
             final Set<Bean<?>> beans = beanManager.getBeans(entityManagerResolver);
@@ -99,16 +110,71 @@ public class RepositoryComponent
         }
         else
         {
+            entityManagerIsNormalScope = beanManager != null && isDefaultEntityManagerNormalScope(beanManager);
             entityManagerResolverIsNormalScope = false;
         }
     }
 
+    private boolean isDefaultEntityManagerNormalScope(BeanManager beanManager)
+    {
+        final Set<Bean<?>> beans = beanManager.getBeans(EntityManager.class, new DefaultLiteral());
+        if (beans.isEmpty())
+        {
+            return false;
+        }
+        try
+        {
+            return beanManager.isNormalScope(beanManager.resolve(beans).getScope());
+        }
+        catch (AmbiguousResolutionException e)
+        {
+            // leave it to the actual lookup to report the problem
+            return false;
+        }
+    }
+
     public boolean isEntityManagerResolverIsNormalScope()
     {
         lazyInit();
         return entityManagerResolverIsNormalScope;
     }
 
+    /**
+     * Returns a cached contextual reference of the normal scoped EntityManagerResolver.
+     *
+     * @return The resolver reference, or {@code null} if the Repository has no
+     *         normal scoped EntityManagerResolver.
+     */
+    public EntityManagerResolver getEntityManagerResolverReference()
+    {
+        if (entityManagerResolverReference == null && isEntityManagerResolverIsNormalScope())
+        {
+            entityManagerResolverReference = BeanProvider.getContextualReference(entityManagerResolver);
+        }
+        return entityManagerResolverReference;
+    }
+
+    /**
+     * Returns a cached contextual reference of the default EntityManager if it is
+     * produced in a normal scope, e.g. request or transaction scoped.
+     *
+     * @return The EntityManager reference, or {@code null} if the Repository uses a
+     *         resolver or the default EntityManager is not normal scoped.
+     */
+    public EntityManager getEntityManagerReference()
+    {
+        if (entityManagerReference == null && !hasEntityManagerResolver())
+        {
+            lazyInit();
+            if (entityManagerIsNormalScope)
+            {
+                entityManagerReference = BeanProvider.getContextualReference(EntityManager.class,
+                        new DefaultLiteral());
+            }
+        }
+        return entityManagerReference;
+    }
+
     public String getEntityName()
     {
         return EntityUtils.entityName(entityClass.getEntityClass());
@@ -122,7 +188,6 @@ public class RepositoryComponent
      */
     public RepositoryMethod lookupMethod(Method method)
     {
-        lazyInit();
         return methods.get(method);
     }
 
@@ -187,8 +252,9 @@ public class RepositoryComponent
         return entityManagerFlushMode;
     }
 
-    private void initialize()
+    private Map<Method, RepositoryMethod> collectMethods()
     {
+        Map<Method, RepositoryMethod> result = new HashMap<Method, RepositoryMethod>();
         Collection<Class<?>> allImplemented = collectClasses();
         for (Class<?> implemented : allImplemented)
         {
@@ -196,9 +262,10 @@ public class RepositoryComponent
             for (Method repoClassMethod : repoClassMethods)
             {
                 RepositoryMethod repoMethod = new RepositoryMethod(repoClassMethod, this);
-                methods.put(repoClassMethod, repoMethod);
+                result.put(repoClassMethod, repoMethod);
             }
         }
+        return result;
     }
 
     private Set<Class<?>> collectClasses()
@@ -253,4 +320,9 @@ public class RepositoryComponent
         return repoClass.getAnnotation(Repository.class).methodPrefix();
     }
 
+    public boolean isReadOnly()
+    {
+        return repoClass.getAnnotation(Repository.class).readOnly();
+    }
+
 }
@@ -26,6 +26,7 @@ import org.apache.deltaspike.data.impl.meta.extractor.TypeMetadataExtractor;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +40,8 @@ public class RepositoryComponents implements Serializable
 
     private static final long serialVersionUID = 1L;
 
-    private final Map<Class<?>, RepositoryComponent> repos = new HashMap<Class<?>, RepositoryComponent>();
+    // copy on write - only modified during bootstrap, lookups don't need a lock
+    private volatile Map<Class<?>, RepositoryComponent> repos = Collections.emptyMap();
 
     private final List<MetadataExtractor> extractors = Arrays.asList(new AnnotationMetadataExtractor(),
             new TypeMetadataExtractor());
@@ -55,7 +57,12 @@ public class RepositoryComponents implements Serializable
     {
         RepositoryEntity entityClass = extractEntityMetaData(repoClass);
         RepositoryComponent repo = new RepositoryComponent(repoClass, entityClass);
-        repos.put(repoClass, repo);
+        synchronized (this)
+        {
+            Map<Class<?>, RepositoryComponent> updated = new HashMap<Class<?>, RepositoryComponent>(repos);
+            updated.put(repoClass, repo);
+            repos = Collections.unmodifiableMap(updated);
+        }
     }
 
     /**
@@ -70,9 +77,10 @@ public class RepositoryComponents implements Serializable
     {
         for (Class<?> repoClass : candidateClasses)
         {
-            if (repos.containsKey(repoClass))
+            RepositoryComponent repo = repos.get(repoClass);
+            if (repo != null)
             {
-                return repos.get(repoClass);
+                return repo;
             }
         }
         throw new RuntimeException("Unknown Repository classes " + candidateClasses);
@@ -86,9 +94,10 @@ public class RepositoryComponents implements Serializable
      */
     public RepositoryComponent lookupComponent(Class<?> repoClass)
     {
-        if (repos.containsKey(repoClass))
+        RepositoryComponent repo = repos.get(repoClass);
+        if (repo != null)
         {
-            return repos.get(repoClass);
+            return repo;
         }
         throw new RuntimeException("Unknown Repository class " + repoClass.getName());
     }
@@ -23,7 +23,13 @@ import static org.apache.deltaspike.data.impl.util.QueryUtils.isNotEmpty;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
@@ -32,16 +38,22 @@ import javax.persistence.LockModeType;
 import org.apache.deltaspike.core.api.provider.BeanManagerProvider;
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.core.api.provider.DependentProvider;
+import org.apache.deltaspike.data.api.FetchJoin;
 import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.QueryCache;
+import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.SingleResultType;
+import org.apache.deltaspike.data.api.StreamingConfig;
 import org.apache.deltaspike.data.api.mapping.MappingConfig;
 import org.apache.deltaspike.data.api.mapping.QueryInOutMapper;
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
 import org.apache.deltaspike.data.impl.builder.part.QueryRoot;
+import org.apache.deltaspike.data.impl.builder.result.Projection;
 import org.apache.deltaspike.data.impl.builder.result.QueryProcessor;
 import org.apache.deltaspike.data.impl.builder.result.QueryProcessorFactory;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.param.ParameterBindingPlan;
 import org.apache.deltaspike.data.impl.util.bean.DependentProviderDestroyable;
 
 /**
@@ -62,7 +74,13 @@ public class RepositoryMethod
     private final RepositoryComponent repo;
     private final QueryRoot queryRoot;
     private final QueryProcessor queryProcessor;
+    private final ParameterBindingPlan parameterBindingPlan;
     private final Class<? extends QueryInOutMapper> mapper;
+    private final StreamingConfig streamingConfig;
+    private final boolean modifying;
+    private final boolean readOnly;
+    private final boolean async;
+    private final QueryCache queryCache;
 
     private volatile Boolean queryInOutMapperIsNormalScope;
 
@@ -71,10 +89,28 @@ public class RepositoryMethod
         this.method = method;
         this.repo = repo;
         this.methodPrefix = new MethodPrefix(repo.getCustomMethodPrefix(), method.getName());
-        this.methodType = extractMethodType();
-        this.queryRoot = initQueryRoot();
-        this.queryProcessor = QueryProcessorFactory.newInstance(method).build();
+        QueryRoot parsedRoot = isAnnotated() ? null : parseMethodExpression();
+        this.methodType = extractMethodType(parsedRoot);
+        this.modifying = method.isAnnotationPresent(Modifying.class);
+        if (methodType == MethodType.PARSE && modifying && !isBulkResultType(method))
+        {
+            throw new MethodExpressionException(repo.getRepositoryClass(), method.getName(),
+                    "bulk operations can only return void, int or long");
+        }
         this.mapper = extractMapper(method, repo);
+        this.queryRoot = initQueryRoot(parsedRoot);
+        this.queryProcessor = QueryProcessorFactory.newInstance(method, modifying).build();
+        this.parameterBindingPlan = ParameterBindingPlan.create(method);
+        this.streamingConfig = extractStreamingConfig(method, repo);
+        this.readOnly = extractReadOnly(method, repo);
+        this.async = Future.class.equals(method.getReturnType());
+        if (async && modifying)
+        {
+            // the executing thread has neither the caller's transaction nor a request context
+            throw new IllegalStateException("Modifying method " + method.getName() + " of Repository "
+                    + repo.getRepositoryClass().getName() + " must not return a Future");
+        }
+        this.queryCache = extractQueryCache(method);
     }
 
     public boolean returns(Class<?> returnType)
@@ -103,28 +139,85 @@ public class RepositoryMethod
         return result;
     }
 
-    private MethodType extractMethodType()
+    private MethodType extractMethodType(QueryRoot parsedRoot)
     {
         if (isAnnotated())
         {
             return MethodType.ANNOTATED;
         }
-        if (isMethodExpression())
+        if (parsedRoot != null)
         {
             return MethodType.PARSE;
         }
         return MethodType.DELEGATE;
     }
 
-    private QueryRoot initQueryRoot()
+    private QueryRoot initQueryRoot(QueryRoot parsedRoot)
     {
+        if (method.isAnnotationPresent(FetchJoin.class))
+        {
+            if (methodType != MethodType.PARSE)
+            {
+                throw new MethodExpressionException(repo.getRepositoryClass(), method.getName(),
+                        "@FetchJoin only applies to method expressions, use a fetch join in the query instead");
+            }
+            if (modifying)
+            {
+                throw new MethodExpressionException(repo.getRepositoryClass(), method.getName(),
+                        "@FetchJoin cannot be combined with a bulk operation");
+            }
+        }
         if (methodType == MethodType.PARSE)
         {
-            return QueryRoot.create(method.getName(), repo, methodPrefix);
+            Projection projection = extractProjection();
+            if (projection != null)
+            {
+                if (method.isAnnotationPresent(FetchJoin.class))
+                {
+                    // a projection selects attributes, there is no entity to fetch associations into
+                    throw new MethodExpressionException(repo.getRepositoryClass(), method.getName(),
+                            "@FetchJoin cannot be combined with a projection result");
+                }
+                return QueryRoot.create(method.getName(), repo, methodPrefix, projection);
+            }
+            if (method.isAnnotationPresent(FetchJoin.class))
+            {
+                List<String> fetchJoins = Arrays.asList(method.getAnnotation(FetchJoin.class).value());
+                return QueryRoot.create(method.getName(), repo, methodPrefix, fetchJoins);
+            }
+            return parsedRoot;
         }
         return QueryRoot.UNKNOWN_ROOT;
     }
 
+    private Projection extractProjection()
+    {
+        if (mapper != null || modifying || QueryResult.class.equals(method.getReturnType()))
+        {
+            return null;
+        }
+        return Projection.create(extractResultType(), repo, method.getName());
+    }
+
+    private Class<?> extractResultType()
+    {
+        Class<?> returnType = method.getReturnType();
+        if (!List.class.equals(returnType) && !Iterator.class.equals(returnType))
+        {
+            return returnType;
+        }
+        Type genericType = method.getGenericReturnType();
+        if (genericType instanceof ParameterizedType)
+        {
+            Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (argument instanceof Class)
+            {
+                return (Class<?>) argument;
+            }
+        }
+        return null;
+    }
+
     private boolean isAnnotated()
     {
         if (method.isAnnotationPresent(Query.class))
@@ -140,23 +233,44 @@ public class RepositoryMethod
         return isNotEmpty(query.value()) || isNotEmpty(query.named());
     }
 
-    private boolean isMethodExpression()
+    /**
+     * @return The parsed query, or {@code null} if the method is not a method expression.
+     */
+    private QueryRoot parseMethodExpression()
     {
         if (!Modifier.isAbstract(method.getModifiers()))
         {
-            return false;
+            return null;
+        }
+        // bulk operations must be explicitly marked, as the prefixes are also common for custom methods
+        boolean bulk = methodPrefix.isUpdate() || methodPrefix.isDelete();
+        if (bulk && !method.isAnnotationPresent(Modifying.class))
+        {
+            return null;
         }
         try
         {
-            QueryRoot.create(method.getName(), repo, methodPrefix);
-            return true;
+            return QueryRoot.create(method.getName(), repo, methodPrefix);
         }
         catch (MethodExpressionException e)
         {
-            return false;
+            if (bulk)
+            {
+                // explicitly marked as bulk operation, so this is not a delegate method
+                throw e;
+            }
+            return null;
         }
     }
 
+    private static boolean isBulkResultType(Method method)
+    {
+        Class<?> returnType = method.getReturnType();
+        return Void.TYPE.equals(returnType) || Void.class.equals(returnType)
+                || int.class.equals(returnType) || Integer.class.equals(returnType)
+                || long.class.equals(returnType) || Long.class.equals(returnType);
+    }
+
     private Class<? extends QueryInOutMapper> extractMapper(Method queryMethod, RepositoryComponent repoComponent)
     {
         if (queryMethod.isAnnotationPresent(MappingConfig.class))
@@ -170,6 +284,39 @@ public class RepositoryMethod
         return null;
     }
 
+    private StreamingConfig extractStreamingConfig(Method queryMethod, RepositoryComponent repoComponent)
+    {
+        if (queryMethod.isAnnotationPresent(StreamingConfig.class))
+        {
+            return queryMethod.getAnnotation(StreamingConfig.class);
+        }
+        return repoComponent.getRepositoryClass().getAnnotation(StreamingConfig.class);
+    }
+
+    private boolean extractReadOnly(Method queryMethod, RepositoryComponent repoComponent)
+    {
+        if (methodType == MethodType.DELEGATE || modifying)
+        {
+            return false;
+        }
+        if (queryMethod.isAnnotationPresent(Query.class) && queryMethod.getAnnotation(Query.class).readOnly())
+        {
+            return true;
+        }
+        return repoComponent.isReadOnly();
+    }
+
+    private QueryCache extractQueryCache(Method queryMethod)
+    {
+        Class<?> returnType = queryMethod.getReturnType();
+        if (methodType == MethodType.DELEGATE || modifying || async ||
+                QueryResult.class.equals(returnType) || Iterator.class.equals(returnType))
+        {
+            return null;
+        }
+        return queryMethod.getAnnotation(QueryCache.class);
+    }
+
     //don't trigger this lookup during ProcessAnnotatedType
     private void lazyInit()
     {
@@ -218,11 +365,54 @@ public class RepositoryMethod
         return queryProcessor;
     }
 
+    public ParameterBindingPlan getParameterBindingPlan()
+    {
+        return parameterBindingPlan;
+    }
+
     public boolean hasQueryInOutMapper()
     {
         return mapper != null;
     }
 
+    public int getStreamingChunkSize()
+    {
+        return streamingConfig != null ? streamingConfig.chunkSize() : StreamingConfig.DEFAULT_CHUNK_SIZE;
+    }
+
+    public boolean isDetachStreamedChunks()
+    {
+        return streamingConfig == null || streamingConfig.detachChunks();
+    }
+
+    public boolean isQueryResultCached()
+    {
+        return queryCache != null;
+    }
+
+    public QueryCache getQueryCacheConfig()
+    {
+        return queryCache;
+    }
+
+    public boolean isModifying()
+    {
+        return modifying;
+    }
+
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
+
+    /**
+     * @return {@code true} if the method returns a {@link Future} and is executed asynchronously.
+     */
+    public boolean isAsync()
+    {
+        return async;
+    }
+
     public SingleResultType getSingleResultStyle()
     {
         if (method.isAnnotationPresent(Query.class))
@@ -239,7 +429,7 @@ public class RepositoryMethod
         {
             hasLockMode = !method.getAnnotation(Query.class).lock().equals(LockModeType.NONE);
         }
-        return hasLockMode || method.isAnnotationPresent(Modifying.class);
+        return hasLockMode || modifying;
     }
 
 }
@@ -20,23 +20,21 @@ package org.apache.deltaspike.data.impl.meta.unit;
 
 import java.net.URL;
 
-import org.w3c.dom.Document;
-
-class Descriptor
+class Descriptor<T>
 {
 
-    private final Document document;
+    private final T content;
     private final URL url;
 
-    public Descriptor(Document document, URL url)
+    public Descriptor(T content, URL url)
     {
-        this.document = document;
+        this.content = content;
         this.url = url;
     }
 
-    public Document getDocument()
+    public T getContent()
     {
-        return document;
+        return content;
     }
 
     public URL getUrl()
@@ -28,23 +28,26 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.deltaspike.data.impl.util.cl.AggregatedClassLoader;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
-abstract class DescriptorReader
+/**
+ * Reads XML descriptors with a streaming parser, no document tree is built.
+ *
+ * @param <T> Type of the content extracted from a descriptor.
+ */
+abstract class DescriptorReader<T>
 {
     private static final Logger log = Logger.getLogger(DescriptorReader.class.getName());
 
-    private final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    private final XMLInputFactory factory = XMLInputFactory.newInstance();
 
-    List<Descriptor> readAllFromClassPath(String resource) throws IOException
+    List<Descriptor<T>> readAllFromClassPath(String resource) throws IOException
     {
-        List<Descriptor> result = new LinkedList<Descriptor>();
+        List<Descriptor<T>> result = new LinkedList<Descriptor<T>>();
         Enumeration<URL> urls = classLoader().getResources(resource);
         while (urls.hasMoreElements())
         {
@@ -61,24 +64,27 @@ abstract class DescriptorReader
         return Collections.unmodifiableList(result);
     }
 
-    Descriptor readFromClassPath(String resource) throws IOException
+    Descriptor<T> readFromClassPath(String resource) throws IOException
     {
         return readFromUrl(classLoader().getResource(resource));
     }
 
-    Descriptor readFromUrl(URL url) throws IOException
+    Descriptor<T> readFromUrl(URL url) throws IOException
     {
         InputStream stream = url.openStream();
         try
         {
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return new Descriptor(builder.parse(new InputSource(stream)), url);
-        }
-        catch (SAXException e)
-        {
-            throw new RuntimeException("Failed reading XML document", e);
+            XMLStreamReader reader = factory.createXMLStreamReader(stream);
+            try
+            {
+                return new Descriptor<T>(parse(reader), url);
+            }
+            finally
+            {
+                reader.close();
+            }
         }
-        catch (ParserConfigurationException e)
+        catch (XMLStreamException e)
         {
             throw new RuntimeException("Failed reading XML document", e);
         }
@@ -88,7 +94,7 @@ abstract class DescriptorReader
         }
     }
 
-    Descriptor read(String baseUrl, String resource) throws IOException
+    Descriptor<T> read(String baseUrl, String resource) throws IOException
     {
         try
         {
@@ -112,4 +118,14 @@ abstract class DescriptorReader
         return AggregatedClassLoader.newInstance();
     }
 
+    /**
+     * Extracts the content from a reader positioned at the start of the document.
+     */
+    abstract T parse(XMLStreamReader reader) throws XMLStreamException;
+
+    static String elementText(XMLStreamReader reader) throws XMLStreamException
+    {
+        return reader.getElementText().trim();
+    }
+
 }
@@ -20,28 +20,44 @@ package org.apache.deltaspike.data.impl.meta.unit;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-public class EntityDescriptorReader extends DescriptorReader
+/**
+ * Reads entity and mapped superclass mappings from mapping files. The parsed content is
+ * cached per file, descriptors are created fresh for every call.
+ */
+public class EntityDescriptorReader extends DescriptorReader<EntityDescriptorReader.Mappings>
 {
 
+    private static final String ENTITY = "entity";
+    private static final String MAPPED_SUPERCLASS = "mapped-superclass";
+
+    private final Map<String, Mappings> cache = new HashMap<String, Mappings>();
+
     public MappingFile readAll(String baseUrl, String resource) throws IOException
     {
-        return readFromDocument(read(baseUrl, resource).getDocument());
+        String key = baseUrl + resource;
+        Mappings mappings = cache.get(key);
+        if (mappings == null)
+        {
+            mappings = read(baseUrl, resource).getContent();
+            cache.put(key, mappings);
+        }
+        return mappings.toMappingFile();
     }
 
     public MappingFile readDefaultOrm(String baseUrl) throws IOException
     {
         try
         {
-            Descriptor desc = read(baseUrl, PersistenceUnit.DEFAULT_ORM_PATH);
-            return readFromDocument(desc.getDocument());
+            return readAll(baseUrl, PersistenceUnit.DEFAULT_ORM_PATH);
         }
         catch (Exception e)
         {
@@ -50,71 +66,41 @@ public class EntityDescriptorReader extends DescriptorReader
         }
     }
 
-    public MappingFile readFromDocument(Document doc)
+    @Override
+    Mappings parse(XMLStreamReader reader) throws XMLStreamException
     {
-        List<EntityDescriptor> entities = new EntityBuilder<EntityDescriptor>()
+        String packageName = null;
+        List<ClassMapping> classes = new LinkedList<ClassMapping>();
+        ClassMapping current = null;
+        while (reader.hasNext())
         {
-            @Override
-            EntityDescriptor instance(String name, String packageName, String className,
-                    String idClass, String id)
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && current != null
+                    && current.tagName.equals(reader.getLocalName()))
             {
-                return new EntityDescriptor(name, packageName, className, idClass, id);
+                current = null;
             }
-
-            @Override
-            String tagName()
+            if (event != XMLStreamConstants.START_ELEMENT)
             {
-                return "entity";
+                continue;
             }
-        }
-                .build(doc);
-        List<MappedSuperclassDescriptor> superClasses = new EntityBuilder<MappedSuperclassDescriptor>()
-        {
-            @Override
-            MappedSuperclassDescriptor instance(String name, String packageName, String className,
-                    String idClass, String id)
+            String element = reader.getLocalName();
+            if (ENTITY.equals(element) || MAPPED_SUPERCLASS.equals(element))
             {
-                return new MappedSuperclassDescriptor(name, packageName, className, idClass, id);
+                current = new ClassMapping(element, reader.getAttributeValue(null, "name"),
+                        reader.getAttributeValue(null, "class"));
+                classes.add(current);
             }
-
-            @Override
-            String tagName()
+            else if (current != null)
             {
-                return "mapped-superclass";
+                current.addChild(element, reader);
+            }
+            else if ("package".equals(element) && packageName == null)
+            {
+                packageName = elementText(reader);
             }
         }
-                .build(doc);
-        return new MappingFile(entities, superClasses);
-    }
-
-    private String extractNodeAttribute(Element element, String childName, String attribute)
-    {
-        NodeList list = element.getElementsByTagName(childName);
-        if (list.getLength() == 0)
-        {
-            return null;
-        }
-        return extractAttribute(list.item(0), attribute);
-    }
-
-    private String extractAttribute(Node item, String name)
-    {
-        Node node = item.getAttributes().getNamedItem(name);
-        if (node != null)
-        {
-            return node.getTextContent();
-        }
-        return null;
-    }
-
-    private String extractNodeContent(Element element, String name)
-    {
-        NodeList list = element.getElementsByTagName(name);
-        if (list.getLength() == 0)
-        {
-            return null;
-        }
-        return list.item(0).getTextContent();
+        return new Mappings(packageName, classes);
     }
 
     public static class MappingFile
@@ -139,29 +125,73 @@ public class EntityDescriptorReader extends DescriptorReader
         }
     }
 
-    private abstract class EntityBuilder<T extends PersistentClassDescriptor>
+    /**
+     * Parsed content of a mapping file.
+     */
+    static final class Mappings
     {
+        private final String packageName;
+        private final List<ClassMapping> classes;
 
-        public List<T> build(Document doc)
+        private Mappings(String packageName, List<ClassMapping> classes)
         {
-            List<T> result = new LinkedList<T>();
-            String packageName = extractNodeContent(doc.getDocumentElement(), "package");
-            NodeList mappings = doc.getElementsByTagName(tagName());
-            for (int i = 0; i < mappings.getLength(); i++)
+            this.packageName = packageName;
+            this.classes = classes;
+        }
+
+        private MappingFile toMappingFile()
+        {
+            List<EntityDescriptor> entities = new LinkedList<EntityDescriptor>();
+            List<MappedSuperclassDescriptor> superClasses = new LinkedList<MappedSuperclassDescriptor>();
+            for (ClassMapping mapping : classes)
             {
-                String name = extractAttribute(mappings.item(i), "name");
-                String className = extractAttribute(mappings.item(i), "class");
-                String idClass = extractNodeAttribute((Element) mappings.item(i), "id-class", "class");
-                String id = extractNodeAttribute((Element) mappings.item(i), "id", "name");
-                String embeddedId = extractNodeAttribute((Element) mappings.item(i), "embedded-id", "name");
-                result.add(instance(name, packageName, className, idClass, id != null ? id : embeddedId));
+                String id = mapping.id != null ? mapping.id : mapping.embeddedId;
+                if (ENTITY.equals(mapping.tagName))
+                {
+                    entities.add(new EntityDescriptor(mapping.name, packageName, mapping.className,
+                            mapping.idClass, id));
+                }
+                else
+                {
+                    superClasses.add(new MappedSuperclassDescriptor(mapping.name, packageName,
+                            mapping.className, mapping.idClass, id));
+                }
             }
-            return result;
+            return new MappingFile(entities, superClasses);
         }
+    }
 
-        abstract T instance(String name, String packageName, String className, String idClass, String id);
-
-        abstract String tagName();
+    private static final class ClassMapping
+    {
+        private final String tagName;
+        private final String name;
+        private final String className;
+        private String idClass;
+        private String id;
+        private String embeddedId;
+
+        private ClassMapping(String tagName, String name, String className)
+        {
+            this.tagName = tagName;
+            this.name = name;
+            this.className = className;
+        }
 
+        private void addChild(String element, XMLStreamReader reader)
+        {
+            if ("id-class".equals(element) && idClass == null)
+            {
+                idClass = reader.getAttributeValue(null, "class");
+            }
+            else if ("id".equals(element) && id == null)
+            {
+                id = reader.getAttributeValue(null, "name");
+            }
+            else if ("embedded-id".equals(element) && embeddedId == null)
+            {
+                embeddedId = reader.getAttributeValue(null, "name");
+            }
+        }
     }
+
 }
@@ -20,58 +20,91 @@ package org.apache.deltaspike.data.impl.meta.unit;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.deltaspike.data.impl.meta.unit.EntityDescriptorReader.MappingFile;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-public class PersistenceUnitReader extends DescriptorReader
+/**
+ * Reads all persistence units and their entity mappings. Mapping files shared between
+ * persistence units (e.g. the default orm.xml) are only parsed once.
+ */
+public class PersistenceUnitReader extends DescriptorReader<Map<String, List<String>>>
 {
 
+    private final EntityDescriptorReader entityReader = new EntityDescriptorReader();
+
     public List<PersistenceUnit> readAll() throws IOException
     {
         List<PersistenceUnit> result = new LinkedList<PersistenceUnit>();
-        List<Descriptor> persistenceXmls = readAllFromClassPath(PersistenceUnit.RESOURCE_PATH);
-        for (Descriptor desc : persistenceXmls)
+        List<Descriptor<Map<String, List<String>>>> persistenceXmls =
+                readAllFromClassPath(PersistenceUnit.RESOURCE_PATH);
+        for (Descriptor<Map<String, List<String>>> desc : persistenceXmls)
         {
             result.addAll(lookupUnits(desc));
         }
         return Collections.unmodifiableList(result);
     }
 
-    private List<PersistenceUnit> lookupUnits(Descriptor descriptor)
+    /**
+     * Collects the mapping files by persistence unit name.
+     */
+    @Override
+    Map<String, List<String>> parse(XMLStreamReader reader) throws XMLStreamException
+    {
+        Map<String, List<String>> result = new LinkedHashMap<String, List<String>>();
+        List<String> mappingFiles = null;
+        while (reader.hasNext())
+        {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT)
+            {
+                continue;
+            }
+            String element = reader.getLocalName();
+            if ("persistence-unit".equals(element))
+            {
+                mappingFiles = new LinkedList<String>();
+                result.put(reader.getAttributeValue(null, "name"), mappingFiles);
+            }
+            else if ("mapping-file".equals(element) && mappingFiles != null)
+            {
+                mappingFiles.add(elementText(reader));
+            }
+        }
+        return result;
+    }
+
+    private List<PersistenceUnit> lookupUnits(Descriptor<Map<String, List<String>>> descriptor)
     {
         List<PersistenceUnit> result = new LinkedList<PersistenceUnit>();
-        NodeList list = descriptor.getDocument().getDocumentElement().getElementsByTagName("persistence-unit");
-        for (int i = 0; i < list.getLength(); i++)
+        String baseUrl = extractBaseUrl(descriptor.getUrl(), PersistenceUnit.RESOURCE_PATH);
+        for (Map.Entry<String, List<String>> unit : descriptor.getContent().entrySet())
         {
-            Node node = list.item(i);
-            String unitName = extractUnitName(node);
-            String baseUrl = extractBaseUrl(descriptor.getUrl(), PersistenceUnit.RESOURCE_PATH);
-            List<EntityDescriptor> entities = extractMappings((Element) node, baseUrl);
-            result.add(new PersistenceUnit(unitName, entities));
+            List<EntityDescriptor> entities = extractMappings(unit.getValue(), baseUrl);
+            result.add(new PersistenceUnit(unit.getKey(), entities));
         }
         return result;
     }
 
-    private List<EntityDescriptor> extractMappings(Element element, String baseUrl)
+    private List<EntityDescriptor> extractMappings(List<String> mappingFiles, String baseUrl)
     {
         try
         {
-            EntityDescriptorReader reader = new EntityDescriptorReader();
             List<EntityDescriptor> entities = new LinkedList<EntityDescriptor>();
             List<MappedSuperclassDescriptor> superClasses = new LinkedList<MappedSuperclassDescriptor>();
-            NodeList list = element.getElementsByTagName("mapping-file");
-            for (int i = 0; i < list.getLength(); i++)
+            for (String mappingFile : mappingFiles)
             {
-                MappingFile mappings = reader.readAll(baseUrl, list.item(i).getTextContent());
+                MappingFile mappings = entityReader.readAll(baseUrl, mappingFile);
                 entities.addAll(mappings.getEntities());
                 superClasses.addAll(mappings.getSuperClasses());
             }
-            MappingFile mappings = reader.readDefaultOrm(baseUrl);
+            MappingFile mappings = entityReader.readDefaultOrm(baseUrl);
             entities.addAll(mappings.getEntities());
             superClasses.addAll(mappings.getSuperClasses());
             DescriptorHierarchyBuilder.newInstance(entities, superClasses).buildHierarchy();
@@ -83,9 +116,4 @@ public class PersistenceUnitReader extends DescriptorReader
         }
     }
 
-    private String extractUnitName(Node node)
-    {
-        return node.getAttributes().getNamedItem("name").getTextContent();
-    }
-
 }
@@ -53,4 +53,10 @@ public class IndexedParameter extends Parameter
         }
     }
 
+    @Override
+    public String toString()
+    {
+        return "?" + index + "=" + queryValue();
+    }
+
 }
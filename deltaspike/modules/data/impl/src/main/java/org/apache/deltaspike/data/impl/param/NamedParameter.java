@@ -46,4 +46,10 @@ public class NamedParameter extends Parameter
         return ident != null && ident.equals(name);
     }
 
+    @Override
+    public String toString()
+    {
+        return ":" + name + "=" + queryValue();
+    }
+
 }
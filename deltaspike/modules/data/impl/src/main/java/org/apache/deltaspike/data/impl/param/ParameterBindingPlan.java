@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.param;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.deltaspike.data.api.FirstResult;
+import org.apache.deltaspike.data.api.MaxResults;
+import org.apache.deltaspike.data.api.QueryParam;
+
+/**
+ * Resolves the role of each method parameter once per query method: indexed or named
+ * query parameter, max results or first result. {@link Parameters} of an invocation are then
+ * created without reflecting over the parameter annotations again.
+ */
+public final class ParameterBindingPlan
+{
+
+    private static final Logger LOG = Logger.getLogger(ParameterBindingPlan.class.getName());
+
+    private final int defaultMax;
+    // per method parameter: query parameter index, or 0 for named or restriction parameters
+    private final int[] indexes;
+    private final String[] names;
+    private final boolean[] maxResults;
+    private final boolean[] firstResults;
+    private final int queryParameterCount;
+
+    private ParameterBindingPlan(Method method)
+    {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        int count = annotations.length;
+        defaultMax = extractSizeRestriction(method);
+        indexes = new int[count];
+        names = new String[count];
+        maxResults = new boolean[count];
+        firstResults = new boolean[count];
+        int paramIndex = 1;
+        int parameters = 0;
+        for (int i = 0; i < count; i++)
+        {
+            maxResults[i] = extractFrom(annotations[i], MaxResults.class) != null;
+            firstResults[i] = extractFrom(annotations[i], FirstResult.class) != null;
+            if (!maxResults[i] && !firstResults[i])
+            {
+                QueryParam qpAnnotation = extractFrom(annotations[i], QueryParam.class);
+                if (qpAnnotation != null)
+                {
+                    names[i] = qpAnnotation.value();
+                }
+                else
+                {
+                    indexes[i] = paramIndex++;
+                }
+                parameters++;
+            }
+        }
+        queryParameterCount = parameters;
+    }
+
+    public static ParameterBindingPlan create(Method method)
+    {
+        return new ParameterBindingPlan(method);
+    }
+
+    public Parameters bind(Object[] parameters)
+    {
+        int max = defaultMax;
+        int first = Parameters.DEFAULT_FIRST;
+        List<Parameter> result = new ArrayList<Parameter>(queryParameterCount);
+        for (int i = 0; i < parameters.length; i++)
+        {
+            if (indexes[i] > 0)
+            {
+                result.add(new IndexedParameter(indexes[i], parameters[i]));
+            }
+            else if (names[i] != null)
+            {
+                result.add(new NamedParameter(names[i], parameters[i]));
+            }
+            else
+            {
+                if (maxResults[i])
+                {
+                    max = extractInt(parameters[i], MaxResults.class, max);
+                }
+                if (firstResults[i])
+                {
+                    first = extractInt(parameters[i], FirstResult.class, first);
+                }
+            }
+        }
+        return new Parameters(result, max, first);
+    }
+
+    private static int extractSizeRestriction(Method method)
+    {
+        if (method.isAnnotationPresent(org.apache.deltaspike.data.api.Query.class))
+        {
+            return method.getAnnotation(org.apache.deltaspike.data.api.Query.class).max();
+        }
+        return Parameters.DEFAULT_MAX;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A extends Annotation> A extractFrom(Annotation[] annotations, Class<A> target)
+    {
+        for (Annotation annotation : annotations)
+        {
+            if (annotation.annotationType().isAssignableFrom(target))
+            {
+                return (A) annotation;
+            }
+        }
+        return null;
+    }
+
+    private static int extractInt(Object parameter, Class<? extends Annotation> target, int defaultVal)
+    {
+        if (parameter != null)
+        {
+            if (parameter instanceof Integer)
+            {
+                return (Integer) parameter;
+            }
+            LOG.log(Level.WARNING, "Method parameter extraction: " +
+                    "Param type must be int: {0}->is:{1}",
+                    new Object[] { target, parameter.getClass() });
+        }
+        return defaultVal;
+    }
+
+}
@@ -163,6 +163,10 @@ public class Reflections
      */
     public static <A extends AccessibleObject> A setAccessible(final A member)
     {
+        if (member.isAccessible())
+        {
+            return member;
+        }
         AccessController.doPrivileged(new PrivilegedAction<Void>()
         {
             @Override
@@ -19,13 +19,17 @@
 package org.apache.deltaspike.data.impl.util;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.IdClass;
+import javax.persistence.OrderColumn;
 
 import org.apache.deltaspike.data.impl.meta.unit.PersistenceUnits;
 import org.apache.deltaspike.data.impl.meta.verifier.EntityVerifier;
@@ -85,6 +89,42 @@ public final class EntityUtils
         return new EntityVerifier().verify(entityClass);
     }
 
+    /**
+     * @return The attribute of the given name, or {@code null} if the entity has none.
+     */
+    public static Property<Object> attribute(Class<?> entityClass, String attribute)
+    {
+        return PropertyQueries.<Object> createQuery(entityClass)
+                .addCriteria(new NamedPropertyCriteria(attribute))
+                .getFirstResult();
+    }
+
+    /**
+     * @return true if the entity has an attribute of the given name mapping a collection or map.
+     */
+    public static boolean isCollectionAttribute(Class<?> entityClass, String attribute)
+    {
+        Property<Object> property = attribute(entityClass, attribute);
+        return property != null && isCollection(property);
+    }
+
+    public static boolean isCollection(Property<?> property)
+    {
+        Class<?> type = property.getJavaClass();
+        return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    /**
+     * @return true if the attribute is a collection without index or uniqueness, which providers
+     *         map as bag. Fetching more than one bag at once is not supported by all providers.
+     */
+    public static boolean isBag(Property<?> property)
+    {
+        Class<?> type = property.getJavaClass();
+        return Collection.class.isAssignableFrom(type) && !Set.class.isAssignableFrom(type)
+                && !property.getAnnotatedElement().isAnnotationPresent(OrderColumn.class);
+    }
+
     private static Property<Serializable> primaryKey(Class<?> entityClass)
     {
         for (PropertyCriteria c : criteriaList(entityClass))
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.util.jpa;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Caches the query string of named queries per {@link EntityManagerFactory}, so the
+ * provider specific extraction only happens once per named query.
+ */
+@ApplicationScoped
+public class NamedQueryStringCache
+{
+
+    private final QueryStringExtractorFactory factory = new QueryStringExtractorFactory();
+
+    // copy on write, read without locking - closed factories are dropped on the next write
+    private volatile Map<EntityManagerFactory, ConcurrentMap<String, String>> queryStrings =
+            Collections.emptyMap();
+
+    public String getQueryString(EntityManager entityManager, String name)
+    {
+        ConcurrentMap<String, String> named = getQueryStrings(entityManager.getEntityManagerFactory());
+        String result = named.get(name);
+        if (result == null)
+        {
+            result = factory.extract(entityManager.createNamedQuery(name));
+            named.putIfAbsent(name, result);
+        }
+        return result;
+    }
+
+    private ConcurrentMap<String, String> getQueryStrings(EntityManagerFactory entityManagerFactory)
+    {
+        ConcurrentMap<String, String> result = queryStrings.get(entityManagerFactory);
+        if (result == null)
+        {
+            result = addQueryStrings(entityManagerFactory);
+        }
+        return result;
+    }
+
+    private synchronized ConcurrentMap<String, String> addQueryStrings(EntityManagerFactory entityManagerFactory)
+    {
+        ConcurrentMap<String, String> result = queryStrings.get(entityManagerFactory);
+        if (result != null)
+        {
+            return result;
+        }
+        Map<EntityManagerFactory, ConcurrentMap<String, String>> copy =
+                new IdentityHashMap<EntityManagerFactory, ConcurrentMap<String, String>>();
+        for (Map.Entry<EntityManagerFactory, ConcurrentMap<String, String>> entry : queryStrings.entrySet())
+        {
+            if (entry.getKey().isOpen())
+            {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+        result = new ConcurrentHashMap<String, String>();
+        copy.put(entityManagerFactory, result);
+        queryStrings = copy;
+        return result;
+    }
+
+}
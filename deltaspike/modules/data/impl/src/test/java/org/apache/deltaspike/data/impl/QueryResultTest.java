@@ -27,6 +27,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
@@ -231,6 +232,38 @@ public class QueryResultTest extends TransactionalTestCase
 
     }
 
+    @Test
+    public void should_page_with_keyset()
+    {
+        // given
+        final String name = "testPageWithKeyset";
+        builder.createSimple(name, Integer.valueOf(22));
+        Simple second = builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(99));
+        builder.createSimple(name, Integer.valueOf(123));
+
+        // when
+        QueryResult<Simple> pagedQuery = repo
+                .findByName(name)
+                .orderAsc(Simple_.counter)
+                .orderAsc(Simple_.id)
+                .maxResults(2);
+        List<Simple> result1 = pagedQuery.getResultList();
+        List<Simple> result2 = pagedQuery.seekAfter(second.getCounter(), second.getId()).getResultList();
+        long count = pagedQuery.count();
+        List<Simple> result3 = pagedQuery.seekAfter().getResultList();
+
+        // then
+        assertEquals(2, result1.size());
+        assertEquals(second.getId(), result1.get(1).getId());
+        assertEquals(2, result2.size());
+        assertEquals(56, result2.get(0).getCounter().intValue());
+        assertEquals(99, result2.get(1).getCounter().intValue());
+        assertEquals(5L, count);
+        assertEquals(22, result3.get(0).getCounter().intValue());
+    }
+
     @Test
     public void should_modify_named_query()
     {
@@ -312,6 +345,63 @@ public class QueryResultTest extends TransactionalTestCase
         assertEquals(2L, result);
     }
 
+    @Test
+    public void should_count_once_per_result()
+    {
+        // given
+        final String name = "testCountOncePerResult";
+        builder.createSimple(name);
+        QueryResult<Simple> result = repo.findByName(name);
+
+        // when
+        long first = result.count();
+        builder.createSimple(name);
+        long second = result.count();
+        long fresh = repo.findByName(name).count();
+
+        // then
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        assertEquals(2L, fresh);
+    }
+
+    @Test
+    public void should_share_cached_count_until_modified()
+    {
+        // given
+        final String name = "testShareCachedCount";
+        builder.createSimple(name);
+
+        // when
+        long first = repo.findByName(name).cacheCount(1, TimeUnit.MINUTES).count();
+        builder.createSimple(name);
+        long cached = repo.findByName(name).cacheCount(1, TimeUnit.MINUTES).count();
+        repo.save(new Simple(name));
+        long invalidated = repo.findByName(name).cacheCount(1, TimeUnit.MINUTES).count();
+
+        // then
+        assertEquals(1L, first);
+        assertEquals(1L, cached);
+        assertEquals(3L, invalidated);
+    }
+
+    @Test
+    public void should_not_flush_before_read_only_query()
+    {
+        // given
+        final String name = "testReadOnlyQuery";
+        Simple simple = builder.createSimple(name);
+        simple.setName(name + "Changed");
+
+        // when
+        List<Simple> readOnly = repo.findByName(name).readOnly().getResultList();
+        List<Simple> flushed = repo.findByName(name).getResultList();
+
+        // then
+        assertEquals(1, readOnly.size());
+        assertEquals(0, flushed.size());
+    }
+
     @Test
     public void should_query_optional()
     {
@@ -20,11 +20,22 @@ package org.apache.deltaspike.data.impl.builder.part;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.deltaspike.data.api.FetchJoin;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
+import org.apache.deltaspike.data.impl.builder.result.Projection;
 import org.apache.deltaspike.data.impl.meta.MethodPrefix;
 import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
 import org.apache.deltaspike.data.impl.meta.RepositoryEntity;
+import org.apache.deltaspike.data.test.domain.Parent;
 import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.data.test.domain.dto.SimpleSummary;
+import org.apache.deltaspike.data.test.service.ParentRepository;
 import org.apache.deltaspike.data.test.service.SimpleFetchRepository;
 import org.apache.deltaspike.data.test.service.SimpleRepository;
 import org.junit.Test;
@@ -135,9 +146,187 @@ public class QueryRootTest
         assertEquals(expected, result);
     }
 
+    @Test
+    public void should_create_projection_query()
+    {
+        // given
+        final String name = "findByName";
+        final String expected =
+                "select e.counter, e.name from Simple e " +
+                        "where e.name = ?1";
+        Projection projection = Projection.create(SimpleSummary.class, repo, name);
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name), projection).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_create_delete_query()
+    {
+        // given
+        final String name = "deleteByNameAndCounter";
+        final String expected =
+                "delete from Simple e " +
+                        "where e.name = ?1 and e.counter = ?2";
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name)).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_create_update_query()
+    {
+        // given
+        final String name = "updateNameAndCounterByEnabled";
+        final String expected =
+                "update Simple e set e.name = ?1, e.counter = ?2 " +
+                        "where e.enabled = ?3";
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name)).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_create_update_query_for_attribute_containing_by()
+    {
+        // given
+        final String name = "updateCreatedByByName";
+        final String expected =
+                "update Simple e set e.createdBy = ?1 " +
+                        "where e.name = ?2";
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name)).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_bulk_delete_returning_list()
+    {
+        new RepositoryComponent(ListDeleteRepository.class, new RepositoryEntity(Simple.class, Long.class));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_report_invalid_bulk_update()
+    {
+        new RepositoryComponent(InvalidUpdateRepository.class, new RepositoryEntity(Simple.class, Long.class));
+    }
+
+    @Test
+    public void should_create_fetch_join_query()
+    {
+        // given
+        final RepositoryComponent parentRepo = new RepositoryComponent(ParentRepository.class,
+                new RepositoryEntity(Parent.class, Long.class));
+        final String name = "findByName";
+        final String expected =
+                "select distinct e from Parent e left join fetch e.one left join fetch e.many " +
+                        "where e.name = ?1";
+
+        // when
+        String result = QueryRoot.create(name, parentRepo, prefix(name), Arrays.asList("one", "many"))
+                .getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_fetch_join_with_projection()
+    {
+        new RepositoryComponent(FetchJoinProjectionRepository.class, new RepositoryEntity(Simple.class, Long.class));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_unknown_fetch_join_attribute()
+    {
+        QueryRoot.create("findByName", repo, prefix("findByName"), Arrays.asList("unknown"));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_fetch_join_of_basic_attribute()
+    {
+        QueryRoot.create("findByName", repo, prefix("findByName"), Arrays.asList("counter"));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_fetch_join_of_multiple_bags()
+    {
+        final RepositoryComponent bagsRepo = new RepositoryComponent(EmptyRepository.class,
+                new RepositoryEntity(Bags.class, Long.class));
+
+        QueryRoot.create("findByName", bagsRepo, prefix("findByName"), Arrays.asList("list", "collection"));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_fetch_join_on_query_method()
+    {
+        new RepositoryComponent(FetchJoinQueryRepository.class, new RepositoryEntity(Simple.class, Long.class));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_reject_fetch_join_on_bulk_operation()
+    {
+        new RepositoryComponent(FetchJoinBulkRepository.class, new RepositoryEntity(Parent.class, Long.class));
+    }
+
     private MethodPrefix prefix(final String name)
     {
         return new MethodPrefix("", name);
     }
 
+    private interface ListDeleteRepository
+    {
+        @Modifying
+        List<Simple> deleteByName(String name);
+    }
+
+    private interface InvalidUpdateRepository
+    {
+        @Modifying
+        int updateNameByUnknown(String name, String unknown);
+    }
+
+    private interface FetchJoinProjectionRepository
+    {
+        @FetchJoin("embedded")
+        List<SimpleSummary> findByName(String name);
+    }
+
+    private interface FetchJoinQueryRepository
+    {
+        @FetchJoin("embedded")
+        @Query("select s from Simple s")
+        List<Simple> findAllSimples();
+    }
+
+    private interface FetchJoinBulkRepository
+    {
+        @Modifying
+        @FetchJoin("many")
+        int deleteByName(String name);
+    }
+
+    private interface EmptyRepository
+    {
+    }
+
+    @SuppressWarnings("unused")
+    private static class Bags
+    {
+        private List<Parent> list;
+        private Collection<Parent> collection;
+    }
+
 }
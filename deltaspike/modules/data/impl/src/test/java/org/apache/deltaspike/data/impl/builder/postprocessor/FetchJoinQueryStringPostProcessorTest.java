@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class FetchJoinQueryStringPostProcessorTest
+{
+
+    @Test
+    public void should_fetch_attribute_of_query_alias()
+    {
+        // given
+        final String query = "select p from Parent as p\nWHERE p.name = ?1 ORDER BY p.id";
+        final String expected = "select p from Parent as p left join fetch p.one WHERE p.name = ?1 ORDER BY p.id";
+
+        // when
+        String result = new FetchJoinQueryStringPostProcessor("one", false).postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_append_fetch_join_after_existing_joins()
+    {
+        // given
+        final String query = "select p from Parent p join p.one o order by p.id";
+        final String expected = "select distinct p from Parent p join p.one o left join fetch p.many order by p.id";
+
+        // when
+        String result = new FetchJoinQueryStringPostProcessor("many", true).postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_ignore_keywords_in_subqueries()
+    {
+        // given
+        final String query = "select p from Parent p where p.value > "
+                + "(select avg(c.value) from Parent c where c.name = 'order by')";
+        final String expected = "select p from Parent p left join fetch p.one where p.value > "
+                + "(select avg(c.value) from Parent c where c.name = 'order by')";
+
+        // when
+        String result = new FetchJoinQueryStringPostProcessor("one", false).postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_reject_query_without_alias()
+    {
+        new FetchJoinQueryStringPostProcessor("one", false).postProcess("delete from Parent");
+    }
+
+}
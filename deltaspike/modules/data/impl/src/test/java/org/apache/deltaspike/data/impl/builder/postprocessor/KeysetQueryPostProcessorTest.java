@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+import org.junit.Test;
+
+public class KeysetQueryPostProcessorTest
+{
+
+    @Test
+    public void should_add_key_condition_to_where_clause_on_any_whitespace()
+    {
+        // given
+        final String query = "select s from Simple s\nWHERE s.name = ?1\n\tORDER BY s.counter asc";
+        final String expected = "select s from Simple s\nWHERE (s.name = ?1) and ((s.counter > ?2)) "
+                + "ORDER BY s.counter asc";
+
+        // when
+        String result = keyset(OrderDirection.ASC, new Object[] { 1 }, "counter").postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_add_where_clause_with_alias_of_query()
+    {
+        // given
+        final String query = "select p from Simple as p order by p.counter desc, p.id desc";
+        final String expected = "select p from Simple as p where ((p.counter < :keyset0) "
+                + "or (p.counter = :keyset0 and p.id < :keyset1)) order by p.counter desc, p.id desc";
+
+        // when
+        String result = keyset(OrderDirection.DESC, new Object[] { 1, 2L }, "counter", "id").postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_ignore_keywords_in_subqueries_and_literals()
+    {
+        // given
+        final String query = "select e from Simple e where e.name <> ' where ' and e.id in "
+                + "(select s.id from Simple s where s.enabled = true order by s.id) order by e.id asc";
+        final String expected = "select e from Simple e where (e.name <> ' where ' and e.id in "
+                + "(select s.id from Simple s where s.enabled = true order by s.id)) and ((e.id > :keyset0)) "
+                + "order by e.id asc";
+
+        // when
+        String result = keyset(OrderDirection.ASC, new Object[] { 1L }, "id").postProcess(query);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void should_reject_group_by()
+    {
+        keyset(OrderDirection.ASC, new Object[] { 1 }, "counter")
+                .postProcess("select e.counter, count(e) from Simple e group by e.counter order by e.counter asc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_null_key_value()
+    {
+        keyset(OrderDirection.ASC, new Object[] { null }, "counter");
+    }
+
+    private KeysetQueryPostProcessor keyset(OrderDirection direction, Object[] key, String... attributes)
+    {
+        List<QueryStringPostProcessor> orderings = new ArrayList<QueryStringPostProcessor>();
+        for (String attribute : attributes)
+        {
+            orderings.add(new OrderByQueryStringPostProcessor(attribute, direction));
+        }
+        return new KeysetQueryPostProcessor(orderings, key);
+    }
+
+}
@@ -34,6 +34,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.PersistenceContext;
 
+import org.apache.deltaspike.data.api.criteria.CompiledCriteria;
 import org.apache.deltaspike.data.test.TransactionalTestCase;
 import org.apache.deltaspike.data.test.domain.OneToMany;
 import org.apache.deltaspike.data.test.domain.OneToOne;
@@ -406,6 +407,35 @@ public class CriteriaTest extends TransactionalTestCase
         return entityManager;
     }
 
+    @Test
+    public void should_reuse_compiled_criteria()
+    {
+        // given
+        final String name = "testReuseCompiledCriteria";
+        createSimple(name, 10);
+        createSimple(name, 20);
+        createSimple(name + "-other", 30);
+        CompiledCriteria<Simple> compiled = repo.compileByNameAndMinCounter();
+
+        // when
+        List<Simple> result1 = compiled.createQuery()
+                .setParameter("name", name)
+                .setParameter("counter", 15)
+                .getResultList();
+        List<Simple> result2 = compiled.createQuery(entityManager)
+                .setParameter("name", name)
+                .setParameter("counter", 0)
+                .getResultList();
+
+        // then
+        assertEquals(1, result1.size());
+        assertEquals(Integer.valueOf(20), result1.get(0).getCounter());
+        // compileByNameAndMinCounter orders ascending by counter
+        assertEquals(2, result2.size());
+        assertEquals(Integer.valueOf(10), result2.get(0).getCounter());
+        assertEquals(Integer.valueOf(20), result2.get(1).getCounter());
+    }
+
     private Simple createSimple(String name, Integer counter)
     {
         Simple result = new Simple(name);
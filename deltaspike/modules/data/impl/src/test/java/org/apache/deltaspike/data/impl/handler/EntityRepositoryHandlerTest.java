@@ -23,7 +23,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.List;
 
 import javax.enterprise.inject.Produces;
@@ -108,6 +110,24 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertEquals(simple.getId(), fetch.getId());
     }
 
+    @Test
+    public void should_save_all() throws Exception
+    {
+        // given
+        Simple managed = testData.createSimple("testSaveAll");
+        Simple simple = new Simple("testSaveAllNew");
+        managed.setName("testSaveAllUpdated");
+
+        // when
+        repo.saveAll(Arrays.asList(managed, simple));
+
+        // then
+        assertNotNull(simple.getId());
+        assertFalse(entityManager.contains(simple));
+        assertTrue(entityManager.contains(managed));
+        assertEquals("testSaveAllUpdated", entityManager.find(Simple.class, managed.getId()).getName());
+    }
+
     @Test
     public void should_refresh() throws Exception
     {
@@ -152,6 +172,27 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertEquals(simple.getName(), find.get(0).getName());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_reuse_example_query_with_new_values() throws Exception
+    {
+        // given
+        Simple first = testData.createSimple("testReuseExampleQuery1", Integer.valueOf(10));
+        Simple second = testData.createSimple("testReuseExampleQuery2", Integer.valueOf(20));
+
+        // when
+        List<Simple> firstFind = repo.findBy(first, Simple_.name, Simple_.counter);
+        List<Simple> secondFind = repo.findBy(second, Simple_.name, Simple_.counter);
+        Long secondCount = repo.count(second, Simple_.name, Simple_.counter);
+
+        // then
+        assertEquals(1, firstFind.size());
+        assertEquals(first.getId(), firstFind.get(0).getId());
+        assertEquals(1, secondFind.size());
+        assertEquals(second.getId(), secondFind.get(0).getId());
+        assertEquals(Long.valueOf(1), secondCount);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void should_find_by_example_with_start_and_max() throws Exception
@@ -339,6 +380,22 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertNull(lookup);
     }
 
+    @Test
+    public void should_remove_all()
+    {
+        // given
+        Simple first = testData.createSimple("testRemoveAll");
+        Simple second = testData.createSimple("testRemoveAll");
+
+        // when
+        repo.removeAll(Arrays.asList(first, second));
+
+        // then
+        assertNull(entityManager.find(Simple.class, first.getId()));
+        assertNull(entityManager.find(Simple.class, second.getId()));
+        assertTrue(repo.findBy(first, Simple_.name).isEmpty());
+    }
+
     @Override
     protected EntityManager getEntityManager()
     {
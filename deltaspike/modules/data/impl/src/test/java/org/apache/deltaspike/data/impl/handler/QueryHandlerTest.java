@@ -25,7 +25,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
@@ -34,9 +37,15 @@ import javax.persistence.NonUniqueResultException;
 import javax.persistence.PersistenceContext;
 
 import org.apache.deltaspike.data.test.TransactionalTestCase;
+import org.apache.deltaspike.data.test.domain.OneToMany;
+import org.apache.deltaspike.data.test.domain.OneToOne;
+import org.apache.deltaspike.data.test.domain.Parent;
+import org.apache.deltaspike.data.test.domain.Parent_;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.apache.deltaspike.data.test.domain.Simple2;
 import org.apache.deltaspike.data.test.domain.SimpleBuilder;
+import org.apache.deltaspike.data.test.domain.dto.SimpleSummary;
+import org.apache.deltaspike.data.test.service.ParentRepository;
 import org.apache.deltaspike.data.test.service.Simple2Repository;
 import org.apache.deltaspike.data.test.service.SimpleRepository;
 import org.apache.deltaspike.test.category.WebProfileCategory;
@@ -54,7 +63,7 @@ public class QueryHandlerTest extends TransactionalTestCase
     public static Archive<?> deployment()
     {
         return initDeployment()
-                .addClasses(SimpleRepository.class, Simple2Repository.class)
+                .addClasses(SimpleRepository.class, Simple2Repository.class, ParentRepository.class)
                 .addPackage(Simple.class.getPackage());
     }
 
@@ -64,6 +73,9 @@ public class QueryHandlerTest extends TransactionalTestCase
     @Inject
     private Simple2Repository repo2;
 
+    @Inject
+    private ParentRepository parentRepo;
+
     @Produces
     @PersistenceContext
     private EntityManager entityManager;
@@ -276,6 +288,55 @@ public class QueryHandlerTest extends TransactionalTestCase
         assertEquals(1, count);
     }
 
+    @Test
+    public void should_delete_with_method_expression()
+    {
+        // given
+        final String name = "testDeleteWithMethodExpression";
+        builder.createSimple(name);
+        builder.createSimple(name);
+        builder.createSimple(name + "Other");
+
+        // when
+        int count = repo.deleteByName(name);
+
+        // then
+        assertEquals(2, count);
+        assertEquals(0L, repo.findByName(name).count());
+        assertEquals(1L, repo.findByName(name + "Other").count());
+    }
+
+    @Test
+    public void should_return_long_count_of_bulk_delete()
+    {
+        // given
+        final String name = "testReturnLongCountOfBulkDelete";
+        builder.createSimple(name);
+
+        // when
+        long count = repo.removeByName(name);
+
+        // then
+        assertEquals(1L, count);
+        assertEquals(0L, repo.findByName(name).count());
+    }
+
+    @Test
+    public void should_update_with_method_expression()
+    {
+        // given
+        final String name = "testUpdateWithMethodExpression";
+        Simple simple = builder.createSimple(name, Integer.valueOf(1));
+
+        // when
+        int count = repo.updateCounterByName(Integer.valueOf(42), name);
+        entityManager.clear();
+
+        // then
+        assertEquals(1, count);
+        assertEquals(Integer.valueOf(42), entityManager.find(Simple.class, simple.getId()).getCounter());
+    }
+
     @Test
     public void should_create_optinal_query_by_name()
     {
@@ -398,6 +459,164 @@ public class QueryHandlerTest extends TransactionalTestCase
         assertEquals(name, result.getName());
     }
 
+    @Test
+    public void should_cache_query_result_until_entity_is_saved()
+    {
+        // given
+        final String name = "should_cache_query_result_until_entity_is_saved";
+        builder.createSimple(name);
+
+        // when
+        List<Simple> result1 = repo.findCachedByName(name);
+        builder.createSimple(name);
+        List<Simple> result2 = repo.findCachedByName(name);
+        repo.save(new Simple(name));
+        List<Simple> result3 = repo.findCachedByName(name);
+
+        // then
+        assertEquals(1, result1.size());
+        assertEquals(1, result2.size());
+        assertEquals(3, result3.size());
+    }
+
+    @Test
+    public void should_load_cached_entities_into_current_entity_manager()
+    {
+        // given
+        final String name = "should_load_cached_entities_into_current_entity_manager";
+        builder.createSimple(name);
+        List<Simple> cached = repo.findCachedByName(name);
+        entityManager.clear();
+
+        // when
+        List<Simple> result = repo.findCachedByName(name);
+
+        // then
+        assertEquals(1, result.size());
+        assertEquals(cached.get(0).getId(), result.get(0).getId());
+        assertFalse(entityManager.contains(cached.get(0)));
+        assertTrue(entityManager.contains(result.get(0)));
+    }
+
+    @Test
+    public void should_restore_cached_list_in_order()
+    {
+        // given
+        final String name = "should_restore_cached_list_in_order";
+        builder.createSimple(name);
+        builder.createSimple(name);
+        builder.createSimple(name);
+        List<Simple> cached = repo.findCachedByName(name);
+        entityManager.clear();
+
+        // when
+        List<Simple> result = repo.findCachedByName(name);
+
+        // then
+        assertEquals(3, result.size());
+        for (int i = 0; i < cached.size(); i++)
+        {
+            assertEquals(cached.get(i).getId(), result.get(i).getId());
+            assertTrue(entityManager.contains(result.get(i)));
+        }
+    }
+
+    @Test
+    public void should_stream_result_in_chunks()
+    {
+        // given
+        final String name = "should_stream_result_in_chunks";
+        builder.createSimple(name);
+        Simple second = builder.createSimple(name);
+        Simple third = builder.createSimple(name);
+        Simple fourth = builder.createSimple(name);
+        builder.createSimple("should_not_be_streamed");
+
+        // when
+        Iterator<Simple> result = repo.streamByName(name, 1);
+
+        // then
+        assertEquals(second.getId(), result.next().getId());
+        assertEquals(third.getId(), result.next().getId());
+        Simple last = result.next();
+        assertEquals(fourth.getId(), last.getId());
+        assertFalse(result.hasNext());
+        assertFalse(entityManager.contains(second));
+        assertTrue(entityManager.contains(last));
+    }
+
+    @Test
+    public void should_project_result_to_interface()
+    {
+        // given
+        final String name = "should_project_result_to_interface";
+        builder.createSimple(name, Integer.valueOf(2));
+        builder.createSimple(name, Integer.valueOf(1));
+        builder.createSimple("should_not_be_projected");
+        entityManager.clear();
+
+        // when
+        List<SimpleSummary> result = repo.findByNameOrderByCounterAsc(name);
+
+        // then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertEquals(name, result.get(0).getName());
+        assertEquals(Integer.valueOf(1), result.get(0).getCounter());
+        assertEquals(Integer.valueOf(2), result.get(1).getCounter());
+    }
+
+    @Test
+    public void should_execute_future_returning_method_asynchronously() throws Exception
+    {
+        // given
+        final String name = "should_execute_future_returning_method_asynchronously";
+
+        // when
+        Future<List<Simple>> result = repo.findAsyncByName(name);
+
+        // then
+        assertNotNull(result);
+        List<Simple> simples = result.get(10, TimeUnit.SECONDS);
+        assertNotNull(simples);
+        assertTrue(simples.isEmpty());
+    }
+
+    @Test
+    public void should_fetch_join_associations()
+    {
+        // given
+        final String name = "should_fetch_join_associations";
+        Parent parent = createParent(name, 1L);
+
+        // when
+        List<Parent> result = parentRepo.findByName(name);
+        entityManager.clear();
+
+        // then
+        assertEquals(1, result.size());
+        assertEquals(parent.getOne().getName(), result.get(0).getOne().getName());
+        assertEquals(2, result.get(0).getMany().size());
+    }
+
+    @Test
+    public void should_fetch_join_associations_of_query_result()
+    {
+        // given
+        final String name = "should_fetch_join_associations_of_query_result";
+        createParent(name, 4711L);
+
+        // when
+        List<Parent> result = parentRepo.findByValue(4711L)
+                .fetch(Parent_.many)
+                .getResultList();
+        entityManager.clear();
+
+        // then
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).getMany().size());
+    }
+
     @Before
     public void setup()
     {
@@ -410,6 +629,19 @@ public class QueryHandlerTest extends TransactionalTestCase
         return entityManager;
     }
 
+    private Parent createParent(String name, Long value)
+    {
+        Parent result = new Parent(name);
+        result.setValue(value);
+        result.setOne(new OneToOne(name + "-one"));
+        result.add(new OneToMany(name + "-1"));
+        result.add(new OneToMany(name + "-2"));
+        entityManager.persist(result);
+        entityManager.flush();
+        entityManager.clear();
+        return result;
+    }
+
     private Simple2 createSimple2(String name)
     {
         Simple2 result = new Simple2(name);
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.deltaspike.data.impl.meta.RepositoryComponent;
+import org.apache.deltaspike.data.impl.meta.RepositoryEntity;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethod;
+import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.data.test.service.SimpleRepository;
+import org.junit.Test;
+
+public class QueryResultCacheTest
+{
+
+    private final QueryResultCache cache = new QueryResultCache();
+
+    @Test
+    public void should_not_return_approximate_count_for_exact_lookup() throws Exception
+    {
+        // given
+        RepositoryMethod method = repoMethod();
+        Object[] args = new Object[] { "name" };
+
+        // when
+        cache.storeCount(method, args, true, 42, TimeUnit.MINUTES.toNanos(1));
+
+        // then
+        assertNull(cache.lookupCount(method, args, false));
+        assertEquals(Long.valueOf(42), cache.lookupCount(method, args, true));
+    }
+
+    @Test
+    public void should_drop_counts_of_expired_entries() throws Exception
+    {
+        // given
+        RepositoryMethod method = repoMethod();
+        Object[] args = new Object[] { "name" };
+
+        // when
+        cache.storeCount(method, args, false, 42, 0);
+
+        // then
+        assertNull(cache.lookupCount(method, args, false));
+    }
+
+    private RepositoryMethod repoMethod() throws Exception
+    {
+        RepositoryComponent repo = new RepositoryComponent(SimpleRepository.class,
+                new RepositoryEntity(Simple.class, Long.class));
+        return repo.lookupMethod(SimpleRepository.class.getMethod("findByName", String.class));
+    }
+
+}
@@ -20,9 +20,11 @@ package org.apache.deltaspike.data.impl.mapping;
 
 import static org.apache.deltaspike.data.test.util.TestDeployments.initDeployment;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Iterator;
 import java.util.List;
 
 import javax.enterprise.inject.Produces;
@@ -120,6 +122,24 @@ public class MappedRepositoryTest extends TransactionalTestCase
         assertTrue(found);
     }
 
+    @Test
+    public void should_map_streamed_result_after_invocation()
+    {
+        // given
+        final String name = "should_map_streamed_result_after_invocation";
+        entityManager.persist(new Simple(name));
+        entityManager.persist(new Simple(name));
+        entityManager.flush();
+
+        // when
+        Iterator<SimpleDto> result = repository.streamByName(name);
+
+        // then
+        assertEquals(name, result.next().getName());
+        assertEquals(name, result.next().getName());
+        assertFalse(result.hasNext());
+    }
+
     @Test
     public void should_override_class_config_with_method_config()
     {
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.param;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.apache.deltaspike.data.test.service.SimpleRepository;
+import org.junit.Test;
+
+public class ParameterBindingPlanTest
+{
+
+    @Test
+    public void should_bind_restrictions_from_parameters() throws Exception
+    {
+        // given
+        Method method = SimpleRepository.class.getMethod("findByNamedQueryRestricted",
+                String.class, Boolean.class, int.class, Integer.class);
+        ParameterBindingPlan plan = ParameterBindingPlan.create(method);
+
+        // when
+        Parameters first = plan.bind(new Object[] { "name", Boolean.TRUE, 10, 5 });
+        Parameters second = plan.bind(new Object[] { "name", Boolean.TRUE, 20, null });
+
+        // then
+        assertEquals(10, first.getSizeRestriciton());
+        assertEquals(5, first.getFirstResult());
+        assertEquals(20, second.getSizeRestriciton());
+        assertFalse(second.hasFirstResult());
+    }
+
+    @Test
+    public void should_bind_restriction_from_annotation() throws Exception
+    {
+        // given
+        Method method = SimpleRepository.class.getMethod("findByNamedQueryIndexed", String.class, Boolean.class);
+
+        // when
+        Parameters result = ParameterBindingPlan.create(method).bind(new Object[] { "name", Boolean.TRUE });
+
+        // then
+        assertTrue(result.hasSizeRestriction());
+        assertEquals(1, result.getSizeRestriciton());
+        assertFalse(result.hasFirstResult());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.util.jpa;
+
+import static org.apache.deltaspike.data.test.util.TestDeployments.initDeployment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.apache.deltaspike.data.test.TransactionalTestCase;
+import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.test.category.WebProfileCategory;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(WebProfileCategory.class)
+public class NamedQueryStringCacheTest extends TransactionalTestCase
+{
+
+    @Deployment
+    public static Archive<?> deployment()
+    {
+        return initDeployment()
+                .addPackage(Simple.class.getPackage());
+    }
+
+    @Inject
+    private NamedQueryStringCache cache;
+
+    @Produces
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    protected EntityManager getEntityManager()
+    {
+        return entityManager;
+    }
+
+    @Test
+    public void should_extract_query_string_once()
+    {
+        // when
+        String first = cache.getQueryString(entityManager, Simple.BY_NAME_LIKE);
+        String second = cache.getQueryString(entityManager, Simple.BY_NAME_LIKE);
+
+        // then
+        assertEquals("select e from Simple e where e.name like ?1", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void should_return_same_query_string_to_concurrent_callers() throws Exception
+    {
+        // given
+        final String expected = cache.getQueryString(entityManager, Simple.BY_ID);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList<Future<String>>();
+
+        // when
+        try
+        {
+            for (int i = 0; i < 20; i++)
+            {
+                results.add(executor.submit(new Callable<String>()
+                {
+                    @Override
+                    public String call() throws Exception
+                    {
+                        return cache.getQueryString(entityManager, Simple.BY_ID);
+                    }
+                }));
+            }
+
+            // then
+            for (Future<String> result : results)
+            {
+                assertSame(expected, result.get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+}
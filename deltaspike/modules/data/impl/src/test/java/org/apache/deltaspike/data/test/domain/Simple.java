@@ -57,6 +57,7 @@ public class Simple extends SuperSimple
     @Temporal(TemporalType.TIMESTAMP)
     private Date temporal;
     private EmbeddedSimple embedded;
+    private String createdBy;
 
     protected Simple()
     {
@@ -137,6 +138,16 @@ public class Simple extends SuperSimple
         this.embedded = embedded;
     }
 
+    public String getCreatedBy()
+    {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy)
+    {
+        this.createdBy = createdBy;
+    }
+
     @Override
     public String toString()
     {
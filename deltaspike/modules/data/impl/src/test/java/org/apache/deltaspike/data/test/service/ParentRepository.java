@@ -23,6 +23,8 @@ import java.util.List;
 import javax.persistence.criteria.JoinType;
 
 import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.FetchJoin;
+import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.criteria.CriteriaSupport;
 import org.apache.deltaspike.data.test.domain.OneToMany;
@@ -37,6 +39,11 @@ public abstract class ParentRepository extends AbstractEntityRepository<Parent,
         implements CriteriaSupport<Parent>
 {
 
+    @FetchJoin({ "one", "many" })
+    public abstract List<Parent> findByName(String name);
+
+    public abstract QueryResult<Parent> findByValue(Long value);
+
     public List<Parent> joinQuery(String name, String oneName, String manyName)
     {
         return criteria()
@@ -23,6 +23,8 @@ import java.util.List;
 
 import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.data.api.criteria.CompiledCriteria;
+import org.apache.deltaspike.data.api.criteria.CriteriaParameter;
 import org.apache.deltaspike.data.api.criteria.CriteriaSupport;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.apache.deltaspike.data.test.domain.Simple_;
@@ -42,6 +44,15 @@ public abstract class SimpleCriteriaRepository extends AbstractEntityRepository<
                 .getResultList();
     }
 
+    public CompiledCriteria<Simple> compileByNameAndMinCounter()
+    {
+        return criteria()
+                .eq(Simple_.name, CriteriaParameter.named("name"))
+                .gtOrEq(Simple_.counter, CriteriaParameter.named("counter"))
+                .orderAsc(Simple_.counter)
+                .compile();
+    }
+
     public Simple queryOptional(String name)
     {
         return criteria()
@@ -18,6 +18,7 @@
  */
 package org.apache.deltaspike.data.test.service;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.deltaspike.data.api.EntityRepository;
@@ -45,4 +46,7 @@ public interface SimpleMappedRepository extends EntityRepository<SimpleDto, Simp
     @Query("select e from Simple e where e.name = ?1")
     QueryResult<SimpleDto> findByNameToo(String name);
 
+    @Query("select e from Simple e where e.name = ?1 order by e.id")
+    Iterator<SimpleDto> streamByName(String name);
+
 }
@@ -21,6 +21,8 @@ package org.apache.deltaspike.data.test.service;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.deltaspike.data.api.mapping.QueryInOutMapper;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.apache.deltaspike.data.test.domain.dto.SimpleDto;
@@ -29,9 +31,15 @@ import org.apache.deltaspike.data.test.domain.dto.SimpleId;
 public class SimpleMapper implements QueryInOutMapper<Simple>
 {
 
+    private boolean destroyed;
+
     @Override
     public Object mapResult(Simple result)
     {
+        if (destroyed)
+        {
+            throw new IllegalStateException("Mapper used after it was destroyed");
+        }
         SimpleDto dto = new SimpleDto();
         dto.setId(new SimpleId(result.getId()));
         dto.setName(result.getName());
@@ -71,4 +79,10 @@ public class SimpleMapper implements QueryInOutMapper<Simple>
         return ((SimpleId) parameter).getId();
     }
 
+    @PreDestroy
+    public void destroy()
+    {
+        destroyed = true;
+    }
+
 }
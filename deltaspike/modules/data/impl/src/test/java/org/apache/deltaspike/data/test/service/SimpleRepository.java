@@ -22,7 +22,9 @@ import static javax.persistence.LockModeType.PESSIMISTIC_WRITE;
 import static org.apache.deltaspike.data.api.SingleResultType.ANY;
 import static org.apache.deltaspike.data.api.SingleResultType.OPTIONAL;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import javax.persistence.EntityManager;
 
@@ -31,10 +33,13 @@ import org.apache.deltaspike.data.api.FirstResult;
 import org.apache.deltaspike.data.api.MaxResults;
 import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.QueryCache;
 import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.data.api.StreamingConfig;
 import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.data.test.domain.dto.SimpleSummary;
 
 @Repository
 public abstract class SimpleRepository extends AbstractEntityRepository<Simple, Long>
@@ -93,6 +98,15 @@ public abstract class SimpleRepository extends AbstractEntityRepository<Simple,
     @Query("update Simple as s set s.name = ?1 where s.id = ?2")
     public abstract int updateNameForId(String name, Long id);
 
+    @Modifying
+    public abstract int deleteByName(String name);
+
+    @Modifying
+    public abstract long removeByName(String name);
+
+    @Modifying
+    public abstract int updateCounterByName(Integer counter, String name);
+
     @Query(named = Simple.BY_NAME_LIKE)
     public abstract QueryResult<Simple> queryResultWithNamed(String name);
 
@@ -101,6 +115,19 @@ public abstract class SimpleRepository extends AbstractEntityRepository<Simple,
 
     public abstract QueryResult<Simple> findByName(String name);
 
+    @QueryCache
+    @Query("select s from Simple s where s.name = ?1")
+    public abstract List<Simple> findCachedByName(String name);
+
+    @StreamingConfig(chunkSize = 2)
+    @Query("select s from Simple s where s.name = ?1 order by s.id")
+    public abstract Iterator<Simple> streamByName(String name, @FirstResult int first);
+
+    public abstract List<SimpleSummary> findByNameOrderByCounterAsc(String name);
+
+    @Query("select s from Simple s where s.name = ?1")
+    public abstract Future<List<Simple>> findAsyncByName(String name);
+
     @Override
     protected abstract EntityManager entityManager();
 
@@ -19,12 +19,11 @@
 package org.apache.deltaspike.jpa.impl.transaction.context;
 
 import javax.enterprise.context.spi.Contextual;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,23 +56,29 @@ public class TransactionBeanStorage
          *     <li>top Element in the Stack -> Context beans for the transactionKey</li>
          * </ol>
          *
+         * It gets created lazily since most transactions don't use any TransactionScoped beans.
          */
-        private Map<Contextual, TransactionBeanEntry> contextualInstances =
-                new HashMap<Contextual, TransactionBeanEntry>();
+        private Map<Contextual, TransactionBeanEntry> contextualInstances;
 
-        private Set<EntityManagerEntry> ems = new HashSet<EntityManagerEntry>();
+        private final Set<EntityManagerEntry> ems = new HashSet<EntityManagerEntry>();
 
         /**
          * counts the 'depth' of the interceptor invocation.
+         * No synchronization is needed since the storage is bound to a single Thread.
          */
-        private AtomicInteger refCounter = new AtomicInteger(0);
-    }
+        private int refCounter = 0;
 
-    /**
-     * If we hit a layer with REQUIRES_NEW, then create a new TransactionContextInfo
-     * and push the old one on top of this stack.
-     */
-    private Stack<TransactionContextInfo> oldTci = new Stack<TransactionContextInfo>();
+        /**
+         * If we hit a layer with REQUIRES_NEW, then the new TransactionContextInfo
+         * links to the previous one.
+         */
+        private final TransactionContextInfo previous;
+
+        private TransactionContextInfo(TransactionContextInfo previous)
+        {
+            this.previous = previous;
+        }
+    }
 
     /**
      * The TransactionContextInfo which is on top of the stack.
@@ -122,7 +127,7 @@ public class TransactionBeanStorage
      */
     public int incrementRefCounter()
     {
-        return currentTci.refCounter.incrementAndGet() - 1;
+        return currentTci.refCounter++;
     }
 
     /**
@@ -137,7 +142,7 @@ public class TransactionBeanStorage
             return 0;
         }
 
-        return currentTci.refCounter.decrementAndGet();
+        return --currentTci.refCounter;
     }
 
     /**
@@ -154,12 +159,7 @@ public class TransactionBeanStorage
      */
     public void startTransactionScope()
     {
-        // first store away any previous TransactionContextInfo
-        if (currentTci != null)
-        {
-            oldTci.push(currentTci);
-        }
-        currentTci = new TransactionContextInfo();
+        currentTci = new TransactionContextInfo(currentTci);
 
         if (LOGGER.isLoggable(Level.FINER))
         {
@@ -181,16 +181,13 @@ public class TransactionBeanStorage
             LOGGER.finer("ending TransactionScope");
         }
 
-        destroyBeans(currentTci.contextualInstances);
-
-        if (oldTci.size() > 0)
+        while (currentTci != null)
         {
-            currentTci = oldTci.pop();
-            endTransactionScope();
-        }
-        else
-        {
-            currentTci = null;
+            if (currentTci.contextualInstances != null)
+            {
+                destroyBeans(currentTci.contextualInstances);
+            }
+            currentTci = currentTci.previous;
         }
     }
 
@@ -211,7 +208,8 @@ public class TransactionBeanStorage
     }
 
     /**
-     * @return the Map which represents the currently active Context content.
+     * @return the Map which represents the currently active Context content or <code>null</code>
+     *         if there is no active TransactionScope. Use {@link #storeContextualInstance} to add beans.
      */
     public Map<Contextual, TransactionBeanEntry> getActiveTransactionContext()
     {
@@ -220,9 +218,26 @@ public class TransactionBeanStorage
             return null;
         }
 
+        if (currentTci.contextualInstances == null)
+        {
+            return Collections.emptyMap();
+        }
         return currentTci.contextualInstances;
     }
 
+    /**
+     * Stores a contextual instance in the currently active Context.
+     * Must only be called if the bean storage is not {@link #isEmpty()}.
+     */
+    public void storeContextualInstance(Contextual component, TransactionBeanEntry transactionBeanEntry)
+    {
+        if (currentTci.contextualInstances == null)
+        {
+            currentTci.contextualInstances = new HashMap<Contextual, TransactionBeanEntry>();
+        }
+        currentTci.contextualInstances.put(component, transactionBeanEntry);
+    }
+
     private void endAllTransactionScopes()
     {
         while (!isEmpty())
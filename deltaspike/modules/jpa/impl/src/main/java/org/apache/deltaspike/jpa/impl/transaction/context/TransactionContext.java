@@ -79,7 +79,7 @@ public class TransactionContext implements Context
         // if it doesn't yet exist, we need to create it now!
         T instance = component.create(creationalContext);
         transactionBeanEntry = new TransactionBeanEntry(component, instance, creationalContext);
-        transactionBeanEntryMap.put(component, transactionBeanEntry);
+        TransactionBeanStorage.getInstance().storeContextualInstance(component, transactionBeanEntry);
 
         return instance;
     }